@@ -2,12 +2,16 @@ package io.github.syst3ms.skriptparser;
 
 import io.github.syst3ms.skriptparser.log.LogEntry;
 import io.github.syst3ms.skriptparser.log.LogType;
+import io.github.syst3ms.skriptparser.parsing.ParseCache;
 import io.github.syst3ms.skriptparser.parsing.ScriptLoader;
 import io.github.syst3ms.skriptparser.registration.DefaultRegistration;
 import io.github.syst3ms.skriptparser.registration.SkriptAddon;
 import io.github.syst3ms.skriptparser.registration.SkriptRegistration;
 import io.github.syst3ms.skriptparser.util.ConsoleColors;
 import io.github.syst3ms.skriptparser.util.FileUtils;
+import io.github.syst3ms.skriptparser.util.ThreadUtils;
+import io.github.syst3ms.skriptparser.variables.FileVariableStorage;
+import io.github.syst3ms.skriptparser.variables.Variables;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
@@ -35,6 +39,9 @@ public class Parser {
         boolean debug = false;
         boolean tipsEnabled = true;
         String scriptName = "";
+        String variablesFolder = null;
+        String parseCacheFile = null;
+        boolean virtualThreads = false;
         String[] programArgs = new String[0];
         if (args.length == 0) {
             System.err.println("You need to provide a script name!");
@@ -47,6 +54,12 @@ public class Parser {
                     debug = true;
                 } else if (s.equalsIgnoreCase("--no-tips") || s.equalsIgnoreCase("--nt")) {
                     tipsEnabled = false;
+                } else if (s.equalsIgnoreCase("--variables") && i + 1 < args.length) {
+                    variablesFolder = args[++i];
+                } else if (s.equalsIgnoreCase("--parse-cache") && i + 1 < args.length) {
+                    parseCacheFile = args[++i];
+                } else if (s.equalsIgnoreCase("--virtual-threads")) {
+                    virtualThreads = true;
                 } else {
                     j = i;
                     break;
@@ -56,7 +69,41 @@ public class Parser {
             programArgs = Arrays.copyOfRange(args, j + 1, args.length);
         }
         init(new String[0], new String[0], programArgs, true);
+        if (virtualThreads && !ThreadUtils.setVirtualThreads(true))
+            System.err.println("Virtual threads aren't available on this version of Java, using at most " + ThreadUtils.MAX_WORKERS + " platform threads instead");
+        if (variablesFolder != null) {
+            try {
+                Variables.setStorage(new FileVariableStorage(Paths.get(variablesFolder)));
+            } catch (IOException e) {
+                System.err.println("Error while loading variables:");
+                e.printStackTrace();
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    Variables.setStorage(null);
+                } catch (IOException e) {
+                    System.err.println("Error while saving variables:");
+                    e.printStackTrace();
+                }
+            }));
+        }
+        if (parseCacheFile != null) {
+            try {
+                ParseCache.load(Paths.get(parseCacheFile));
+            } catch (IOException e) {
+                System.err.println("Error while loading the parse cache:");
+                e.printStackTrace();
+            }
+        }
         run(scriptName, debug, tipsEnabled);
+        if (parseCacheFile != null) {
+            try {
+                ParseCache.save(Paths.get(parseCacheFile));
+            } catch (IOException e) {
+                System.err.println("Error while saving the parse cache:");
+                e.printStackTrace();
+            }
+        }
     }
 
     /**
@@ -138,7 +185,12 @@ public class Parser {
     public static void run(String scriptName, boolean debug, boolean tipsEnabled) {
         Calendar time = Calendar.getInstance();
         Path scriptPath = Paths.get(scriptName);
-        logs = ScriptLoader.loadScript(scriptPath, debug);
+        if (Files.isDirectory(scriptPath)) {
+            logs = new ArrayList<>();
+            ScriptLoader.loadDirectory(scriptPath, debug).values().forEach(logs::addAll);
+        } else {
+            logs = ScriptLoader.loadScript(scriptPath, debug);
+        }
         if (!logs.isEmpty()) {
             System.out.print(ConsoleColors.PURPLE);
             System.out.println("Parsing log:");
@@ -31,13 +31,14 @@ public class Skript extends SkriptAddon {
     private final List<Trigger> periodicalTriggers = new ArrayList<>();
     private final List<Trigger> whenTriggers = new ArrayList<>();
     private final List<Trigger> atTimeTriggers = new ArrayList<>();
+    private boolean finishedLoading = false;
 
     public Skript(String[] mainArgs) {
         this.mainArgs = mainArgs;
     }
 
     @Override
-    public void handleTrigger(Trigger trigger) {
+    public synchronized void handleTrigger(Trigger trigger) {
         SkriptEvent event = trigger.getEvent();
 
         if (!canHandleEvent(event))
@@ -51,30 +52,54 @@ public class Skript extends SkriptAddon {
             whenTriggers.add(trigger);
         } else if (event instanceof EvtAtTime) {
             atTimeTriggers.add(trigger);
+        } else {
+            return;
         }
+        // Triggers loaded afterwards, when a script is reloaded, start right away
+        if (finishedLoading)
+            start(trigger);
+    }
+
+    @Override
+    public synchronized void unhandleTrigger(Trigger trigger) {
+        mainTriggers.remove(trigger);
+        periodicalTriggers.remove(trigger);
+        whenTriggers.remove(trigger);
+        atTimeTriggers.remove(trigger);
     }
 
     @Override
-    public void finishedLoading() {
-        for (Trigger trigger : mainTriggers) {
+    public synchronized void finishedLoading() {
+        finishedLoading = true;
+        for (Trigger trigger : mainTriggers)
+            start(trigger);
+        for (Trigger trigger : periodicalTriggers)
+            start(trigger);
+        for (Trigger trigger : whenTriggers)
+            start(trigger);
+        for (Trigger trigger : atTimeTriggers)
+            start(trigger);
+    }
+
+    private void start(Trigger trigger) {
+        var event = trigger.getEvent();
+        if (event instanceof EvtScriptLoad) {
             Statement.runAll(trigger, new ScriptLoadContext(mainArgs));
-        }
-        for (Trigger trigger : periodicalTriggers) {
+        } else if (event instanceof EvtPeriodical) {
             var ctx = new PeriodicalContext();
-            var dur = ((EvtPeriodical) trigger.getEvent()).getDuration().getSingle().orElseThrow(AssertionError::new);
-            ThreadUtils.runPeriodically(() -> Statement.runAll(trigger, ctx), dur);
-        }
-        for (Trigger trigger : whenTriggers) {
+            var dur = ((EvtPeriodical) event).getDuration().getSingle().orElseThrow(AssertionError::new);
+            ThreadUtils.runPeriodically(() -> Statement.runAll(trigger, ctx), dur, dur, trigger);
+        } else if (event instanceof EvtWhen) {
             var ctx = new WhenContext();
-            ThreadUtils.runPeriodically(() -> Statement.runAll(trigger, ctx), Duration.ofMillis(DurationUtils.TICK));
-        }
-        for (Trigger trigger : atTimeTriggers) {
+            var tick = Duration.ofMillis(DurationUtils.TICK);
+            ThreadUtils.runPeriodically(() -> Statement.runAll(trigger, ctx), tick, tick, trigger);
+        } else if (event instanceof EvtAtTime) {
             var ctx = new AtTimeContext();
-            var time = ((EvtAtTime) trigger.getEvent()).getTime().getSingle().orElseThrow(AssertionError::new);
+            var time = ((EvtAtTime) event).getTime().getSingle().orElseThrow(AssertionError::new);
             var initialDelay = (Time.now().getTime().isAfter(time.getTime())
                     ? Time.now().difference(Time.LATEST).plus(time.difference(Time.MIDNIGHT))
                     : Time.now().difference(time));
-            ThreadUtils.runPeriodically(() -> Statement.runAll(trigger, ctx), initialDelay, Duration.ofDays(1));
+            ThreadUtils.runPeriodically(() -> Statement.runAll(trigger, ctx), initialDelay, Duration.ofDays(1), trigger);
         }
     }
 }
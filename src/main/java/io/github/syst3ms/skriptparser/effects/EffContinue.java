@@ -1,15 +1,22 @@
 package io.github.syst3ms.skriptparser.effects;
 
 import io.github.syst3ms.skriptparser.Parser;
+import io.github.syst3ms.skriptparser.lang.CodeSection;
 import io.github.syst3ms.skriptparser.lang.Effect;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.lang.control.Compilable;
+import io.github.syst3ms.skriptparser.lang.control.CompiledCode;
 import io.github.syst3ms.skriptparser.lang.control.Continuable;
 import io.github.syst3ms.skriptparser.lang.control.Finishing;
+import io.github.syst3ms.skriptparser.lang.control.Instruction;
 import io.github.syst3ms.skriptparser.lang.lambda.ArgumentSection;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
+import io.github.syst3ms.skriptparser.sections.SecLoop;
+import io.github.syst3ms.skriptparser.sections.SecWhile;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigInteger;
 import java.util.List;
@@ -24,7 +31,7 @@ import java.util.stream.Collectors;
  * @since ALPHA
  * @author Mwexim
  */
-public class EffContinue extends Effect {
+public class EffContinue extends Effect implements Compilable {
     static {
         Parser.getMainRegistration().addEffect(
             EffContinue.class,
@@ -35,6 +42,7 @@ public class EffContinue extends Effect {
 
     private Expression<BigInteger> position;
     private List<? extends Continuable> sections;
+    private List<CodeSection> enclosing;
 
     @SuppressWarnings("unchecked")
     @Override
@@ -42,7 +50,8 @@ public class EffContinue extends Effect {
         if (expressions.length == 1)
             position = (Expression<BigInteger>) expressions[0];
 
-        sections = parseContext.getParserState().getCurrentSections().stream()
+        enclosing = parseContext.getParserState().getCurrentSections();
+        sections = enclosing.stream()
                 .filter(sec -> sec instanceof Continuable)
                 .map(sec -> (Continuable) sec)
                 .collect(Collectors.toList());
@@ -60,18 +69,12 @@ public class EffContinue extends Effect {
 
     @Override
 	public Optional<? extends Statement> walk(TriggerContext ctx) {
-        // Indices start at 1
-        int pos = position != null ? position.getSingle(ctx)
-                .filter(val -> val.compareTo(BigInteger.ZERO) > 0 && val.compareTo(BigInteger.valueOf(sections.size())) <= 0)
-                .map(val -> val.intValue() - 1)
-                .orElse(-1) : 0;
+        int pos = getPosition(ctx);
         if (pos == -1)
             return Optional.empty();
 
-        sections.subList(0, pos).forEach(sec -> {
-            if (sec instanceof Finishing)
-                ((Finishing) sec).finish();
-        });
+        for (var section : getFinished(pos))
+            section.finish();
 
         if (sections.get(pos) instanceof ArgumentSection) {
             ((ArgumentSection) sections.get(0)).step(this);
@@ -79,6 +82,51 @@ public class EffContinue extends Effect {
 		return sections.get(pos).getContinued(ctx);
     }
 
+    @Nullable
+    @Override
+    public Instruction compile(CompiledCode code) {
+        // The position is a literal, so it is known beforehand
+        int pos = getPosition(TriggerContext.DUMMY);
+        if (pos == -1)
+            return ctx -> Instruction.END;
+        var continued = sections.get(pos);
+        // Other sections may choose where to continue at runtime
+        if (!(continued instanceof SecLoop || continued instanceof SecWhile))
+            return null;
+        int next = code.indexOf((Statement) continued);
+        var finished = getFinished(pos);
+        var stepped = continued instanceof ArgumentSection ? (ArgumentSection) sections.get(0) : null;
+        return ctx -> {
+            for (var section : finished)
+                section.finish();
+            if (stepped != null)
+                stepped.step(this);
+            return next;
+        };
+    }
+
+    /**
+     * @return the sections left when continuing the section at the given position, including sections that can't
+     *         be continued, like switches
+     */
+    private Finishing[] getFinished(int pos) {
+        return enclosing.subList(0, enclosing.indexOf((CodeSection) sections.get(pos))).stream()
+                .filter(sec -> sec instanceof Finishing)
+                .map(sec -> (Finishing) sec)
+                .toArray(Finishing[]::new);
+    }
+
+    /**
+     * @return the index of the section to continue, or -1 if the position is invalid
+     */
+    private int getPosition(TriggerContext ctx) {
+        // Indices start at 1
+        return position != null ? position.getSingle(ctx)
+                .filter(val -> val.compareTo(BigInteger.ZERO) > 0 && val.compareTo(BigInteger.valueOf(sections.size())) <= 0)
+                .map(val -> val.intValue() - 1)
+                .orElse(-1) : 0;
+    }
+
     @Override
     public String toString(TriggerContext ctx, boolean debug) {
         return "continue";
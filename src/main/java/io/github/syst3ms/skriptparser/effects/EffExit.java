@@ -7,7 +7,10 @@ import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Literal;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.lang.control.Compilable;
+import io.github.syst3ms.skriptparser.lang.control.CompiledCode;
 import io.github.syst3ms.skriptparser.lang.control.Finishing;
+import io.github.syst3ms.skriptparser.lang.control.Instruction;
 import io.github.syst3ms.skriptparser.lang.control.SelfReferencing;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.sections.SecConditional;
@@ -33,7 +36,7 @@ import java.util.Optional;
  * @since ALPHA
  * @author Mwexim
  */
-public class EffExit extends Effect {
+public class EffExit extends Effect implements Compilable {
     static {
         Parser.getMainRegistration().addEffect(
                 EffExit.class,
@@ -69,19 +72,43 @@ public class EffExit extends Effect {
 
     @Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
+        List<Finishing> finished = new ArrayList<>();
+        var next = escape(finished);
+        finished.forEach(Finishing::finish);
+        return next;
+    }
+
+    @Override
+    public Instruction compile(CompiledCode code) {
+        // The escaped sections only depend on the position of this effect, so they are computed once
+        List<Finishing> finished = new ArrayList<>();
+        int next = code.indexOf(escape(finished));
+        var sections = finished.toArray(new Finishing[0]);
+        return ctx -> {
+            for (var section : sections)
+                section.finish();
+            return next;
+        };
+    }
+
+    /**
+     * @param finished the list the sections that need to be finished are added to
+     * @return the statement to run after escaping the sections
+     */
+    private Optional<? extends Statement> escape(List<Finishing> finished) {
         switch (pattern) {
             case 0:
                 // We do this instead of returning an empty Optional,
                 // because we need to call finish() on certain sections.
-                return escapeSections(currentSections.size(), this);
+                return escapeSections(currentSections.size(), this, finished);
             case 1:
-                return escapeSections(1, this);
+                return escapeSections(1, this, finished);
             case 2:
                 return amount.getSingle()
-                        .flatMap(sec -> escapeSections(sec.intValue(), this));
+                        .flatMap(sec -> escapeSections(sec.intValue(), this, finished));
             case 3:
                 // The current trigger is also a part of the current sections!
-                return escapeSections(currentSections.size() - 1, this);
+                return escapeSections(currentSections.size() - 1, this, finished);
             default:
                 throw new IllegalStateException();
         }
@@ -104,7 +131,7 @@ public class EffExit extends Effect {
     }
 
     @SuppressWarnings("unchecked")
-    private Optional<Statement> escapeSections(int amount, Statement start) {
+    private Optional<Statement> escapeSections(int amount, Statement start, List<Finishing> finished) {
         Optional<Statement> temp;
         Optional<Statement> statement = Optional.of(start);
         Statement stm = statement.get();
@@ -119,7 +146,7 @@ public class EffExit extends Effect {
                     || mark == 1 && (stm instanceof SecLoop || stm instanceof SecWhile)
                     || mark == 2 && stm instanceof SecConditional) {
                 if (stm instanceof Finishing)
-                    ((Finishing) stm).finish();
+                    finished.add((Finishing) stm);
                 amount--;
                 continue;
             }
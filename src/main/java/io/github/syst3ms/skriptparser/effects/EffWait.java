@@ -2,19 +2,20 @@ package io.github.syst3ms.skriptparser.effects;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Effect;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Literal;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.util.DurationUtils;
+import io.github.syst3ms.skriptparser.util.ScheduledTask;
 import io.github.syst3ms.skriptparser.util.ThreadUtils;
 
 import java.time.Duration;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Waits a certain duration and then executes all the code after this effect.
@@ -69,49 +70,43 @@ public class EffWait extends Effect {
         if (getNext().isEmpty())
             return Optional.empty();
 
+        var owner = getTrigger().orElse(null);
         if (isConditional) {
-            var cond = condition.getSingle(ctx);
-            // The code we want to run each check.
-            Consumer<ExecutorService> code = exec -> {
-                if (cond.filter(b -> negated == b.booleanValue()).isPresent()) {
-                    Statement.runAll(getNext().get(), ctx);
-                    exec.shutdownNow();
+            // Makes sure the code after this effect only runs once, whichever of the check or the timeout comes first
+            var resumed = new AtomicBoolean();
+            var check = new AtomicReference<ScheduledTask>();
+            Runnable resume = ExecutionFrame.inherit(() -> {
+                if (resumed.compareAndSet(false, true)) {
+                    // The check may not be stored yet if it succeeded right away, in which case it is cancelled below
+                    var task = check.get();
+                    if (task != null)
+                        task.cancel();
+                    Statement.resumeAll(getNext().get(), ctx);
                 }
-            };
+            });
+            // The condition is checked again every tick, until it is met
+            check.set(ThreadUtils.runPeriodically(
+                    ExecutionFrame.inherit(() -> {
+                        if (!resumed.get() && condition.getSingle(ctx).filter(b -> negated == b.booleanValue()).isPresent())
+                            resume.run();
+                    }),
+                    Duration.ZERO,
+                    Duration.ofMillis(DurationUtils.TICK),
+                    owner
+            ));
+            if (resumed.get())
+                check.get().cancel();
 
-            if (duration == null) {
-                var thread = ThreadUtils.buildPeriodic();
-                thread.scheduleAtFixedRate(
-                        () -> code.accept(thread),
-                        0,
-                        DurationUtils.TICK,
-                        TimeUnit.MILLISECONDS
-                );
-            } else {
+            if (duration != null) {
                 var dur = ((Optional<Duration>) ((Literal<Duration>) duration).getSingle()).orElse(Duration.ZERO);
-                long millis = dur.toMillis();
-                var thread = ThreadUtils.buildPeriodic();
-                thread.scheduleAtFixedRate(
-                        () -> code.accept(thread),
-                        0,
-                        DurationUtils.TICK,
-                        TimeUnit.MILLISECONDS
-                );
-                thread.schedule(
-                        () -> {
-                            Statement.runAll(getNext().get(), ctx);
-                            thread.shutdownNow();
-                        },
-                        millis,
-                        TimeUnit.MILLISECONDS
-                );
+                ThreadUtils.runAfter(resume, dur, owner);
             }
         } else {
             Optional<? extends Duration> dur = duration.getSingle(ctx);
             if (dur.isEmpty())
                 return getNext();
 
-            ThreadUtils.runAfter(() -> Statement.runAll(getNext().get(), ctx), dur.get());
+            ThreadUtils.runAfter(ExecutionFrame.inherit(() -> Statement.resumeAll(getNext().get(), ctx)), dur.get(), owner);
         }
         return Optional.empty();
     }
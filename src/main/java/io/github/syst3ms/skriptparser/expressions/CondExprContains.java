@@ -45,8 +45,10 @@ public class CondExprContains extends ConditionalExpression {
     public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
         first = (Expression<Object>) expressions[0];
         second = (Expression<Object>) expressions[1];
-        comparator = (Comparator<Object, Object>) Comparators.getComparator(first.getReturnType(), second.getReturnType()).orElse(null);
-        // If the expressions are variables, their return type is unknown at parse time
+        // If the expressions are variables, their return type is unknown at parse time : the comparator is then looked
+        // up for each value instead, so that for example a Long and a BigInteger are still compared as numbers
+        if (first.getReturnType() != Object.class && second.getReturnType() != Object.class)
+            comparator = (Comparator<Object, Object>) Comparators.getComparator(first.getReturnType(), second.getReturnType()).orElse(null);
         if (first.getReturnType() != Object.class
                 && second.getReturnType() != Object.class
                 && comparator == null) {
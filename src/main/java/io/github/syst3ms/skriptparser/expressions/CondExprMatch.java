@@ -2,11 +2,16 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Literal;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.base.ConditionalExpression;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
+import io.github.syst3ms.skriptparser.util.PatternCache;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Check if the given strings match a certain regex expression.
@@ -30,6 +35,8 @@ public class CondExprMatch extends ConditionalExpression {
     private Expression<String> matched;
     private Expression<String> pattern;
     private boolean partly;
+    // The compiled patterns, if they are known at parse time
+    private Map<String, Pattern> compiled = Map.of();
 
     @SuppressWarnings("unchecked")
     @Override
@@ -39,6 +46,16 @@ public class CondExprMatch extends ConditionalExpression {
         // 1 = negated, 2 = partially, 3 = negated and partially
         setNegated(parseContext.getNumericMark() == 1 || parseContext.getNumericMark() == 3);
         partly = parseContext.getNumericMark() == 2 || parseContext.getNumericMark() == 3;
+        if (Literal.isLiteral(pattern)) {
+            Map<String, Pattern> compiled = new HashMap<>();
+            try {
+                for (var regex : pattern.getValues(TriggerContext.DUMMY))
+                    compiled.put(regex, PatternCache.get(regex));
+                this.compiled = compiled;
+            } catch (PatternSyntaxException ignored) {
+                // Fails the same way at runtime
+            }
+        }
         return true;
     }
 
@@ -48,12 +65,20 @@ public class CondExprMatch extends ConditionalExpression {
                 ctx,
                 toMatch -> pattern.check(
                         ctx,
-                        pattern -> partly ? Pattern.compile(pattern).matcher(toMatch).find() : toMatch.matches(pattern)
+                        pattern -> {
+                            var matcher = getPattern(pattern).matcher(toMatch);
+                            return partly ? matcher.find() : matcher.matches();
+                        }
                 ),
                 isNegated()
         );
     }
 
+    private Pattern getPattern(String regex) {
+        var pattern = compiled.get(regex);
+        return pattern != null ? pattern : PatternCache.get(regex);
+    }
+
     @Override
     public String toString(TriggerContext ctx, boolean debug) {
         return matched.toString(ctx, debug)
@@ -2,15 +2,19 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Literal;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.base.ExecutableExpression;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.types.changers.ChangeMode;
+import io.github.syst3ms.skriptparser.util.PatternCache;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 /**
  * Replaces certain occurrences in a string with another string and returns those applied strings.
@@ -45,6 +49,8 @@ public class ExecExprReplace extends ExecutableExpression<String> {
 
 	private int type;
 	private boolean regex;
+	// The compiled patterns, if they are known at parse time
+	private Map<String, Pattern> compiled = Map.of();
 
 	@SuppressWarnings("unchecked")
 	@Override
@@ -66,6 +72,15 @@ public class ExecExprReplace extends ExecutableExpression<String> {
 			);
 			return false;
 		}
+		if (Literal.isLiteral(toMatch)) {
+			Map<String, Pattern> compiled = new HashMap<>();
+			for (var match : toMatch.getValues(TriggerContext.DUMMY)) {
+				var pattern = compilePattern(match);
+				if (pattern != null)
+					compiled.put(match, pattern);
+			}
+			this.compiled = compiled;
+		}
 		return true;
 	}
 
@@ -82,44 +97,40 @@ public class ExecExprReplace extends ExecutableExpression<String> {
 			for (String match : matchedValues) {
 				String current = replacedValues[i];
 				String replaced;
-				if (regex) {
-					// The regex pattern must be valid
-					try {
-						Pattern.compile(match);
-					} catch (PatternSyntaxException ignored) {
-						continue;
-					}
-				}
+				Pattern pattern = compiled.get(match);
+				if (pattern == null)
+					pattern = compilePattern(match);
+				// The regex pattern must be valid
+				if (regex && pattern == null)
+					continue;
 				switch (type) {
 					case 0:
 						// All occurrences
 						replaced = regex
-								? current.replaceAll(match, replacementValue)
+								? pattern.matcher(current).replaceAll(replacementValue)
 								: current.replace(match, replacementValue);
 						break;
 					case 1:
 						// First occurrence
-						replaced = current.replaceFirst(
-								regex ? match : Pattern.quote(match),
-								replacementValue
-						);
+						replaced = pattern.matcher(current).replaceFirst(replacementValue);
 						break;
 					case 2:
 						// Last occurrence
-						// This regex pattern flushes away as many characters as it can, leaving the last occurrence.
-						Matcher matcher = Pattern.compile(".*(" + match + ")").matcher(current);
-						if (regex && !matcher.matches())
-							continue;
-
-						int lastIndex = regex
-								? matcher.start(1)
-								: current.lastIndexOf(match);
+						int lastIndex;
+						int limitIndex;
+						if (regex) {
+							Matcher matcher = pattern.matcher(current);
+							if (!matcher.matches())
+								continue;
+							lastIndex = matcher.start(1);
+							limitIndex = matcher.end(1);
+						} else {
+							lastIndex = current.lastIndexOf(match);
+							limitIndex = lastIndex + match.length();
+						}
 						if (lastIndex < 0 || lastIndex >= current.length())
 							continue;
 
-						int limitIndex = lastIndex + (regex
-								? matcher.group(1).length()
-								: match.length());
 						replaced = current.substring(0, lastIndex)
 								+ replacementValue
 								+ (limitIndex < current.length() ? current.substring(limitIndex) : "");
@@ -135,6 +146,21 @@ public class ExecExprReplace extends ExecutableExpression<String> {
 		return replacedValues;
 	}
 
+	/**
+	 * Compiles the pattern used to replace the given string. When replacing the last occurrence of a regex, this
+	 * pattern flushes away as many characters as it can, leaving the last occurrence in the first group.
+	 * @param match the string to replace
+	 * @return the pattern, or {@code null} if the string is an invalid regex
+	 */
+	@Nullable
+	private Pattern compilePattern(String match) {
+		if (!regex)
+			return type == 1 ? PatternCache.literal(match) : null;
+		if (PatternCache.tryGet(match).isEmpty())
+			return null;
+		return PatternCache.tryGet(type == 2 ? ".*(" + match + ")" : match).orElse(null);
+	}
+
 	@Override
 	public String toString(TriggerContext ctx, boolean debug) {
 		return "replace "
@@ -57,6 +57,12 @@ public class ExprAmount extends PropertyExpression<Number, Object> {
 						BigInteger.valueOf(getRecursiveSize((Map<String, ?>) var.get()))
 			};
 		}
+		// Ranges know their size beforehand, there is no need to create all of their elements
+		if (getOwner() instanceof ExprRange) {
+			var size = ((ExprRange) getOwner()).getSize(ctx);
+			if (size.isPresent())
+				return new Number[] {size.get()};
+		}
 		return new Number[] {BigInteger.valueOf(getOwner().getValues(ctx).length)};
 	}
 
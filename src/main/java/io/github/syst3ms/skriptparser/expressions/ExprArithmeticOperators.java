@@ -3,12 +3,14 @@ package io.github.syst3ms.skriptparser.expressions;
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Literal;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.registration.PatternInfos;
-import io.github.syst3ms.skriptparser.util.DoubleOptional;
 import io.github.syst3ms.skriptparser.util.math.BigDecimalMath;
+import io.github.syst3ms.skriptparser.util.math.NumberMath;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -42,7 +44,7 @@ import java.util.Optional;
  * @since ALPHA
  * @author Syst3ms
  */
-public class ExprArithmeticOperators implements Expression<Number> {
+public class ExprArithmeticOperators implements Expression<Number>, Pure {
     public static final PatternInfos<Operator> PATTERNS = new PatternInfos<>(new Object[][]{
             {"%number%[ ]+[ ]%number%", Operator.PLUS},
             {"%number%[ ]-[ ]%number%", Operator.MINUS},
@@ -61,6 +63,9 @@ public class ExprArithmeticOperators implements Expression<Number> {
         );
     }
 
+    // The largest result of an integer exponentiation that is computed at parse time, in bits
+    private static final long MAX_FOLDED_BITS = 1 << 16;
+
     private Expression<? extends Number> first, second;
     private Operator op;
 
@@ -86,10 +91,29 @@ public class ExprArithmeticOperators implements Expression<Number> {
 
     @Override
     public Number[] getValues(TriggerContext ctx) {
-        return DoubleOptional.ofOptional(first.getSingle(ctx), second.getSingle(ctx))
-                .map(f -> (Number) f, s -> (Number) s)
-                .mapToOptional((f, s) -> new Number[]{op.calculate(f, s)})
-                .orElse(new Number[0]);
+        var value = getSingleOrNull(ctx);
+        return value == null ? new Number[0] : new Number[] {value};
+    }
+
+    @Nullable
+    @Override
+    public Number getSingleOrNull(TriggerContext ctx) {
+        Number f = first.getSingleOrNull(ctx), s = second.getSingleOrNull(ctx);
+        return f == null || s == null ? null : op.calculate(f, s);
+    }
+
+    @Override
+    public boolean isCheapToFold() {
+        if (op != Operator.EXP)
+            return true;
+        Number f = first.getSingleOrNull(TriggerContext.DUMMY), s = second.getSingleOrNull(TriggerContext.DUMMY);
+        if (f == null || s == null || !NumberMath.isIntegral(f) || !NumberMath.isIntegral(s))
+            return true;
+        // The result of an integer exponentiation has about as many bits as the base times the exponent
+        var base = BigDecimalMath.getBigInteger(f);
+        var exponent = BigDecimalMath.getBigInteger(s);
+        return base.abs().compareTo(BigInteger.ONE) <= 0
+                || exponent.bitLength() < Integer.SIZE && base.bitLength() * exponent.longValue() <= MAX_FOLDED_BITS;
     }
 
     @Override
@@ -101,47 +125,26 @@ public class ExprArithmeticOperators implements Expression<Number> {
         PLUS('+') {
             @Override
             public Number calculate(Number left, Number right) {
-                if (left instanceof BigDecimal || right instanceof BigDecimal) {
-                    var l = BigDecimalMath.getBigDecimal(left);
-                    var r = BigDecimalMath.getBigDecimal(right);
-                    return l.add(r);
-                } else {
-                    assert left instanceof BigInteger && right instanceof BigInteger;
-                    return ((BigInteger) left).add(((BigInteger) right));
-                }
+                return NumberMath.add(left, right);
             }
         },
         MINUS('-') {
             @Override
             public Number calculate(Number left, Number right) {
-                if (left instanceof BigDecimal || right instanceof BigDecimal) {
-                    var l = BigDecimalMath.getBigDecimal(left);
-                    var r = BigDecimalMath.getBigDecimal(right);
-                    return l.subtract(r);
-                } else {
-                    assert left instanceof BigInteger && right instanceof BigInteger;
-                    return ((BigInteger) left).subtract(((BigInteger) right));
-                }
+                return NumberMath.subtract(left, right);
             }
         },
         MULT('*') {
             @Override
             public Number calculate(Number left, Number right) {
-                if (left instanceof BigDecimal || right instanceof BigDecimal) {
-                    var l = BigDecimalMath.getBigDecimal(left);
-                    var r = BigDecimalMath.getBigDecimal(right);
-                    return l.multiply(r);
-                } else {
-                    assert left instanceof BigInteger && right instanceof BigInteger;
-                    return ((BigInteger) left).multiply(((BigInteger) right));
-                }
+                return NumberMath.multiply(left, right);
             }
         },
         DIV('/') {
             @Override
             public Number calculate(Number left, Number right) {
                 if (isZero(right)) {
-                    return BigInteger.ZERO;
+                    return 0L;
                 } else {
                     return BigDecimalMath.getBigDecimal(left).divide(BigDecimalMath.getBigDecimal(right), BigDecimalMath.DEFAULT_CONTEXT);
                 }
@@ -151,13 +154,12 @@ public class ExprArithmeticOperators implements Expression<Number> {
             @Override
             public Number calculate(Number left, Number right) {
                 if (isZero(right)) {
-                    return left instanceof BigDecimal ? BigDecimal.ONE : BigInteger.ONE;
+                    return NumberMath.isIntegral(left) ? (Number) 1L : BigDecimal.ONE;
                 }
-                if (left instanceof BigDecimal || right instanceof BigDecimal) {
-                    return BigDecimalMath.pow(BigDecimalMath.getBigDecimal(left), BigDecimalMath.getBigDecimal(right), BigDecimalMath.DEFAULT_CONTEXT);
+                if (NumberMath.isIntegral(left) && NumberMath.isIntegral(right)) {
+                    return NumberMath.narrow(pow(BigDecimalMath.getBigInteger(left), BigDecimalMath.getBigInteger(right)));
                 } else {
-                    assert left instanceof BigInteger && right instanceof BigInteger;
-                    return pow((BigInteger) left, (BigInteger) right);
+                    return BigDecimalMath.pow(BigDecimalMath.getBigDecimal(left), BigDecimalMath.getBigDecimal(right), BigDecimalMath.DEFAULT_CONTEXT);
                 }
             }
         };
@@ -176,7 +178,7 @@ public class ExprArithmeticOperators implements Expression<Number> {
         }
 
         private static boolean isZero(Number n) {
-            return BigDecimalMath.getBigDecimal(n).compareTo(BigDecimal.ZERO) == 0;
+            return NumberMath.isZero(n);
         }
 
         private static BigInteger pow(BigInteger x, BigInteger y) {
@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.registration.PatternInfos;
@@ -21,7 +22,7 @@ import java.util.function.BinaryOperator;
  * @since ALPHA
  * @author Syst3ms
  */
-public class ExprBinaryMathFunctions implements Expression<Number> {
+public class ExprBinaryMathFunctions implements Expression<Number>, Pure {
 	public static final PatternInfos<BinaryOperator<Number>> PATTERNS = new PatternInfos<>(
 		new Object[][] {
 				{"log[arithm] [base] %number% of %number%", (BinaryOperator<Number>) NumberMath::log},
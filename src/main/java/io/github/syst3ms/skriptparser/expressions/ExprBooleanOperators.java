@@ -2,12 +2,11 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
-
 /**
  * Basic boolean operators. It is possible to use conditions inside the operators.
  *
@@ -18,7 +17,7 @@ import java.util.Optional;
  * @since ALPHA
  * @author Syst3ms
  */
-public class ExprBooleanOperators implements Expression<Boolean> {
+public class ExprBooleanOperators implements Expression<Boolean>, Pure {
     static {
         Parser.getMainRegistration().addExpression(
                 ExprBooleanOperators.class,
@@ -48,14 +47,22 @@ public class ExprBooleanOperators implements Expression<Boolean> {
 
     @Override
     public Boolean[] getValues(TriggerContext ctx) {
+        var value = getSingleOrNull(ctx);
+        return value == null ? new Boolean[0] : new Boolean[] {value};
+    }
+
+    @Nullable
+    @Override
+    public Boolean getSingleOrNull(TriggerContext ctx) {
         assert second != null || pattern == 0;
-        return first.getSingle(ctx)
-                .flatMap(f -> pattern == 0
-                        ? Optional.of(!f)
-                        : second.getSingle(ctx).map(s -> pattern == 1 ? f || s : f && s)
-                )
-                .map(val -> new Boolean[] {val})
-                .orElse(new Boolean[0]);
+        Boolean f = first.getSingleOrNull(ctx);
+        if (f == null) {
+            return null;
+        } else if (pattern == 0) {
+            return !f;
+        }
+        Boolean s = second.getSingleOrNull(ctx);
+        return s == null ? null : pattern == 1 ? f || s : f && s;
     }
 
     @Override
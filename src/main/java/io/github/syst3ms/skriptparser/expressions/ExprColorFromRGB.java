@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.util.color.Color;
@@ -21,7 +22,7 @@ import java.math.BigInteger;
  * @since ALPHA
  * @author Mwexim
  */
-public class ExprColorFromRGB implements Expression<Color> {
+public class ExprColorFromRGB implements Expression<Color>, Pure {
 	static {
 		Parser.getMainRegistration().addExpression(
 				ExprColorFromRGB.class,
@@ -6,7 +6,9 @@ import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.util.math.NumberMath;
 
+import java.lang.reflect.Array;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.ThreadLocalRandom;
@@ -75,6 +77,14 @@ public class ExprElement implements Expression<Object> {
 
 	@Override
 	public Object[] getValues(TriggerContext ctx) {
+		// Elements at the start of the list don't require the whole list to be computed
+		if (pattern == 0 && parseMark == 0) {
+			var iterator = expr.iterator(ctx);
+			return iterator.hasNext() ? new Object[] {iterator.next()} : new Object[0];
+		} else if (pattern == 3 || pattern == 0 && parseMark == 3 || pattern == 1 && parseMark == 0) {
+			return getFirstValues(ctx);
+		}
+
 		Object[] values = expr.getValues(ctx);
 		if (values.length == 0)
 			return new Object[0];
@@ -122,6 +132,30 @@ public class ExprElement implements Expression<Object> {
 		}
 	}
 
+	/**
+	 * Consumes the values of the expression up until the requested index, either returning the element at that index
+	 * or all the elements up until it, depending on the pattern.
+	 */
+	private Object[] getFirstValues(TriggerContext ctx) {
+		var index = range.getSingle(ctx);
+		if (index.isEmpty() || index.get().signum() <= 0)
+			return new Object[0];
+		var r = index.get().min(BigInteger.valueOf(Integer.MAX_VALUE)).intValue();
+		var iterator = expr.iterator(ctx);
+		if (pattern == 1) {
+			var values = new ArrayList<>();
+			while (values.size() < r && iterator.hasNext())
+				values.add(iterator.next());
+			return values.toArray((Object[]) Array.newInstance(getReturnType(), values.size()));
+		}
+		for (int i = 1; iterator.hasNext(); i++) {
+			var value = iterator.next();
+			if (i == r)
+				return new Object[] {value};
+		}
+		return new Object[0];
+	}
+
 	@Override
 	public boolean isSingle() {
 		return pattern == 0 || pattern == 3;
@@ -1,6 +1,7 @@
 package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.properties.PropertyExpression;
 
 import java.math.BigInteger;
@@ -14,7 +15,7 @@ import java.math.BigInteger;
  * @since ALPHA
  * @author Romitou
  */
-public class ExprLength extends PropertyExpression<Number, String> {
+public class ExprLength extends PropertyExpression<Number, String> implements Pure {
     static {
         Parser.getMainRegistration().addPropertyExpression(
                 ExprLength.class,
@@ -121,8 +121,10 @@ public class ExprLoopValue extends SectionValue<SecLoop, Object> {
 	@Override
 	public Object[] getSectionValues(SecLoop loop, TriggerContext ctx) {
 		Object[] one = (Object[]) Array.newInstance(getReturnType(), 1);
+		if (loop.getArguments() == null) // The loop isn't running, for example when printing this at parse time
+			return new Object[0];
 		if (isVariableLoop) {
-			if (loop.getArguments() == null || loop.getArguments()[0] == null) {
+			if (loop.getArguments()[0] == null) {
 				return new Object[0];
 			}
 			var current = (Pair<String, Object>) loop.getArguments()[0];
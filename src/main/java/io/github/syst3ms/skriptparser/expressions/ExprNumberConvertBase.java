@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.util.CollectionUtils;
@@ -21,7 +22,7 @@ import java.util.Objects;
  * @since ALPHA
  * @author Mwexim, WeeskyBDW
  */
-public class ExprNumberConvertBase implements Expression<String> {
+public class ExprNumberConvertBase implements Expression<String>, Pure {
 	static {
 		Parser.getMainRegistration().addExpression(
 				ExprNumberConvertBase.class,
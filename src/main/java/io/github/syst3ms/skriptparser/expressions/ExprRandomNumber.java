@@ -7,12 +7,11 @@ import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.types.comparisons.Comparator;
 import io.github.syst3ms.skriptparser.types.comparisons.Comparators;
 import io.github.syst3ms.skriptparser.types.comparisons.Relation;
-import io.github.syst3ms.skriptparser.util.DoubleOptional;
+import io.github.syst3ms.skriptparser.util.math.BigDecimalMath;
 import io.github.syst3ms.skriptparser.util.math.NumberMath;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
 /**
  * Generate a random number (double) or integer.
@@ -53,31 +52,41 @@ public class ExprRandomNumber implements Expression<Number> {
 
     @Override
     public Number[] getValues(TriggerContext ctx) {
-        return DoubleOptional.ofOptional(lowerNumber.getSingle(ctx), maxNumber.getSingle(ctx))
-                .flatMap((l, m) -> DoubleOptional.of(
-                        Relation.SMALLER_OR_EQUAL.is(numComp.apply(l, m)) ? l : m,
-                        Relation.SMALLER_OR_EQUAL.is(numComp.apply(l, m)) ? m : l
-                    )
-                )
-                .flatMap((f, s) -> DoubleOptional.ofOptional(handleIntegralDecimal(f), handleIntegralDecimal(s)))
-                .mapToOptional((l, m) -> new Number[]{NumberMath.random(l, m, !isExclusive, random)})
-                .orElse(new Number[0]);
+        var value = getSingleOrNull(ctx);
+        return value == null ? new Number[0] : new Number[] {value};
     }
 
-    private Optional<? extends Number> handleIntegralDecimal(Number n) {
-        if (isInteger == n instanceof BigInteger) {
+    @Nullable
+    @Override
+    public Number getSingleOrNull(TriggerContext ctx) {
+        Number l = lowerNumber.getSingleOrNull(ctx), m = maxNumber.getSingleOrNull(ctx);
+        if (l == null || m == null)
+            return null;
+        if (!Relation.SMALLER_OR_EQUAL.is(numComp.apply(l, m))) {
+            var temp = l;
+            l = m;
+            m = temp;
+        }
+        l = handleIntegralDecimal(l);
+        m = handleIntegralDecimal(m);
+        return l == null || m == null ? null : NumberMath.random(l, m, !isExclusive, random);
+    }
+
+    @Nullable
+    private Number handleIntegralDecimal(Number n) {
+        if (isInteger == NumberMath.isIntegral(n)) {
             // Either we want and have integers, or we don't want and don't have integers
-            return Optional.of(n);
+            return n;
         } else if (isInteger) {
             // We want integers but the types are decimal
             if (n instanceof BigDecimal && ((BigDecimal) n).stripTrailingZeros().scale() >= 0) {
-                return Optional.of(((BigDecimal) n).toBigIntegerExact());
+                return ((BigDecimal) n).toBigIntegerExact();
             } else {
-                return Optional.empty();
+                return null;
             }
         } else {
             // We don't want integers but the types are integral
-            return Optional.of(new BigDecimal((BigInteger) n));
+            return BigDecimalMath.getBigDecimal(n);
         }
     }
 
@@ -12,9 +12,18 @@ import io.github.syst3ms.skriptparser.types.ranges.RangeInfo;
 import io.github.syst3ms.skriptparser.types.ranges.Ranges;
 import io.github.syst3ms.skriptparser.util.ClassUtils;
 import io.github.syst3ms.skriptparser.util.CollectionUtils;
-import io.github.syst3ms.skriptparser.util.DoubleOptional;
 
+import java.lang.reflect.Array;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Returns a range of values between two endpoints. Types supported by default are integers and characters (length 1 strings).
@@ -58,18 +67,54 @@ public class ExprRange implements Expression<Object> {
     @SuppressWarnings("unchecked")
     @Override
     public Object[] getValues(TriggerContext ctx) {
-        return DoubleOptional.ofOptional(from.getSingle(ctx), to.getSingle(ctx))
-                .mapToOptional((f, t) -> {
-                    // This is safe... right?
-                    if (Comparators.compare(f, t) == Relation.GREATER) {
-                        return CollectionUtils.reverseArray(
-                                (Object[]) ((BiFunction<? super Object, ? super Object, ?>) this.range.getFunction()).apply(t, f)
-                        );
-                    } else {
-                        return (Object[]) ((BiFunction<? super Object, ? super Object, ?>) this.range.getFunction()).apply(f, t);
-                    }
-                })
-                .orElse(new Object[0]);
+        if (range.getIteratorFunction().isPresent()) {
+            var values = new ArrayList<>();
+            iterator(ctx).forEachRemaining(values::add);
+            return values.toArray((Object[]) Array.newInstance(range.getTo(), values.size()));
+        }
+        Object f = from.getSingleOrNull(ctx), t = to.getSingleOrNull(ctx);
+        if (f == null || t == null)
+            return new Object[0];
+        var function = (BiFunction<? super Object, ? super Object, ?>) range.getFunction();
+        // This is safe... right?
+        if (Comparators.compare(f, t) == Relation.GREATER) {
+            return CollectionUtils.reverseArray((Object[]) function.apply(t, f));
+        } else {
+            return (Object[]) function.apply(f, t);
+        }
+    }
+
+    /**
+     * If the range supports it, its elements are computed one by one, without ever being stored.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Iterator<?> iterator(TriggerContext ctx) {
+        var function = ((RangeInfo<Object, Object>) range).getIteratorFunction();
+        if (function.isEmpty())
+            return Expression.super.iterator(ctx);
+        Object f = from.getSingleOrNull(ctx), t = to.getSingleOrNull(ctx);
+        return f == null || t == null ? Collections.emptyIterator() : function.get().apply(f, t);
+    }
+
+    @Override
+    public Stream<?> stream(TriggerContext ctx) {
+        if (range.getIteratorFunction().isEmpty())
+            return Expression.super.stream(ctx);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(ctx), Spliterator.ORDERED), false);
+    }
+
+    /**
+     * @param ctx the context
+     * @return the amount of elements in this range, if it can be computed without creating them
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<BigInteger> getSize(TriggerContext ctx) {
+        return ((RangeInfo<Object, Object>) range).getSizeFunction()
+                .map(function -> {
+                    Object f = from.getSingleOrNull(ctx), t = to.getSingleOrNull(ctx);
+                    return f == null || t == null ? BigInteger.ZERO : function.apply(f, t);
+                });
     }
 
     @Override
@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.util.StringUtils;
@@ -29,7 +30,7 @@ import io.github.syst3ms.skriptparser.util.StringUtils;
  * @since ALPHA
  * @author Mwexim, WealthyTurtle
  */
-public class ExprStringCase implements Expression<String> {
+public class ExprStringCase implements Expression<String>, Pure {
 	static {
 		Parser.getMainRegistration().addExpression(
 				ExprStringCase.class,
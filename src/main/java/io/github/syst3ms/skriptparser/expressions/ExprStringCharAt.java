@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 
@@ -15,7 +16,7 @@ import java.math.BigInteger;
  * @since ALPHA
  * @author Olyno
  */
-public class ExprStringCharAt implements Expression<String> {
+public class ExprStringCharAt implements Expression<String>, Pure {
 	static {
 		Parser.getMainRegistration().addExpression(
 			ExprStringCharAt.class,
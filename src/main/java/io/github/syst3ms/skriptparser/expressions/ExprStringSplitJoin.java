@@ -2,9 +2,12 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Literal;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.util.DoubleOptional;
+import io.github.syst3ms.skriptparser.util.PatternCache;
 import org.jetbrains.annotations.Nullable;
 
 import java.math.BigInteger;
@@ -12,6 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Joins multiple strings together using a delimiter,
@@ -27,7 +31,7 @@ import java.util.regex.Pattern;
  * @since ALPHA
  * @author Mwexim
  */
-public class ExprStringSplitJoin implements Expression<String> {
+public class ExprStringSplitJoin implements Expression<String>, Pure {
 	static {
 		Parser.getMainRegistration().addExpression(
 				ExprStringSplitJoin.class,
@@ -46,6 +50,9 @@ public class ExprStringSplitJoin implements Expression<String> {
 
 	private int pattern;
 	private boolean regex;
+	// The compiled delimiter, if it is known at parse time
+	@Nullable
+	private Pattern compiled;
 
 	@SuppressWarnings("unchecked")
 	@Override
@@ -61,6 +68,13 @@ public class ExprStringSplitJoin implements Expression<String> {
 				break;
 			case 1:
 				delimiter = (Expression<String>) expressions[1];
+				if (Literal.isLiteral(delimiter)) {
+					try {
+						compiled = delimiter.getSingle(TriggerContext.DUMMY).map(this::compileDelimiter).orElse(null);
+					} catch (PatternSyntaxException ignored) {
+						// Fails the same way at runtime
+					}
+				}
 				break;
 			case 2:
 				step = (Expression<BigInteger>) expressions[1];
@@ -82,7 +96,7 @@ public class ExprStringSplitJoin implements Expression<String> {
 			case 1:
 				assert delimiter != null;
 				return DoubleOptional.ofOptional(expression.getSingle(ctx), delimiter.getSingle(ctx))
-						.mapToOptional((val, separator) -> val.split(regex ? separator : Pattern.quote(separator)))
+						.mapToOptional((val, separator) -> (compiled != null ? compiled : compileDelimiter(separator)).split(val))
 						.orElse(new String[0]);
 			case 2:
 				return DoubleOptional.ofOptional(expression.getSingle(ctx), step.getSingle(ctx))
@@ -100,6 +114,10 @@ public class ExprStringSplitJoin implements Expression<String> {
 		}
 	}
 
+	private Pattern compileDelimiter(String delimiter) {
+		return regex ? PatternCache.get(delimiter) : PatternCache.literal(delimiter);
+	}
+
 	@Override
 	public boolean isSingle() {
 		return pattern == 0;
@@ -2,6 +2,7 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 
@@ -14,7 +15,7 @@ import io.github.syst3ms.skriptparser.parsing.ParseContext;
  * @since ALPHA
  * @author Olyno
  */
-public class ExprTernary implements Expression<Object> {
+public class ExprTernary implements Expression<Object>, Pure {
     static {
         Parser.getMainRegistration().addExpression(
             ExprTernary.class,
@@ -2,12 +2,15 @@ package io.github.syst3ms.skriptparser.expressions;
 
 import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Pure;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.registration.PatternInfos;
 import io.github.syst3ms.skriptparser.util.StringUtils;
+import io.github.syst3ms.skriptparser.util.math.BigDecimalMath;
 import io.github.syst3ms.skriptparser.util.math.NumberMath;
 
+import java.math.BigDecimal;
 import java.util.function.UnaryOperator;
 
 /**
@@ -35,7 +38,7 @@ import java.util.function.UnaryOperator;
  * @since ALPHA
  * @author Syst3ms
  */
-public class ExprUnaryMathFunctions implements Expression<Number> {
+public class ExprUnaryMathFunctions implements Expression<Number>, Pure {
 	// TODO support brackets in the patterns
 	private static final PatternInfos<UnaryOperator<Number>> PATTERNS = new PatternInfos<>(
 		new Object[][]{
@@ -68,6 +71,9 @@ public class ExprUnaryMathFunctions implements Expression<Number> {
 		);
 	}
 
+	// The largest factorial that is computed at parse time
+	private static final BigDecimal MAX_FOLDED_FACTORIAL = BigDecimal.valueOf(1000);
+
 	private int pattern;
 	private Expression<Number> number;
 
@@ -86,6 +92,14 @@ public class ExprUnaryMathFunctions implements Expression<Number> {
 				.orElse(new Number[0]);
 	}
 
+	@Override
+	public boolean isCheapToFold() {
+		// Factorials of integers are computed exactly, which gets slow very quickly
+		return pattern != 1 && pattern != 2 || number.getSingle(TriggerContext.DUMMY)
+				.filter(n -> BigDecimalMath.getBigDecimal(n).compareTo(MAX_FOLDED_FACTORIAL) > 0)
+				.isEmpty();
+	}
+
 	@Override
 	public String toString(TriggerContext ctx, boolean debug) {
 		/*
@@ -20,71 +20,59 @@ public class FileParser {
      * Parses a {@linkplain List} of strings into a list of {@link FileElement}s. This creates {@link FileElement} and
      * {@link FileSection} objects from the lines, effectively structuring the lines into a tree.
      * This removes comments from each line, and discards any blank lines afterwards.
+     * The lines are parsed in a single pass, keeping track of the sections the current line is in.
      * @param fileName the name of the file the lines belong to
      * @param lines the list of lines to parse
      * @param expectedIndentation the indentation level the first line is expected to be at
-     * @param lastLine a parameter that keeps track of the line count throughout recursive calls of this method when
-     *                 parsing sections
+     * @param lastLine the line number of the first line
      * @param logger the logger
      * @return a list of {@link FileElement}s
      */
     public static List<FileElement> parseFileLines(String fileName, List<String> lines, int expectedIndentation, int lastLine, SkriptLogger logger) {
         List<FileElement> elements = new ArrayList<>();
+        // The elements of all the sections the current line is in, the innermost one being last
+        List<List<FileElement>> sections = new ArrayList<>();
+        sections.add(elements);
         for (var i = 0; i < lines.size(); i++) {
             var line = lines.get(i);
+            var indentation = expectedIndentation + sections.size() - 1;
             String content = removeComments(line);
 
             if (content == null) {
                 content = line.replace("##", "#").strip();
             } else if (content.isEmpty()) {
-                elements.add(new VoidElement(fileName, lastLine + i, expectedIndentation));
+                sections.get(sections.size() - 1).add(new VoidElement(fileName, lastLine + i, indentation));
                 continue;
             }
 
             var lineIndentation = FileUtils.getIndentationLevel(line, false);
-            if (lineIndentation > expectedIndentation) { // The line is indented too much
+            if (lineIndentation > indentation) { // The line is indented too much
                 logger.error(
                         "The line is indented too much (line " + (lastLine + i) + ": \"" + content + "\")",
                         ErrorType.STRUCTURE_ERROR,
                         "You only need to indent once (using tabs) after each section (a line that ends with a ':'). Try to omit some tabs so the line suffices this rule"
                 );
                 continue;
-            } else if (lineIndentation < expectedIndentation) { // One indentation behind marks the end of a section
-                return elements;
+            } else if (lineIndentation < expectedIndentation) {
+                break;
+            } else if (lineIndentation < indentation) { // Each indentation behind marks the end of a section
+                indentation = lineIndentation;
+                sections.subList(indentation - expectedIndentation + 1, sections.size()).clear();
             }
+            var current = sections.get(sections.size() - 1);
             if (content.endsWith(":")) {
-                if (i + 1 == lines.size()) {
-                    elements.add(new FileSection(fileName, lastLine + i, content.substring(0, content.length() - 1),
-                            new ArrayList<>(), expectedIndentation
-                    ));
-                } else {
-                    var sectionElements = parseFileLines(fileName, lines.subList(i + 1, lines.size()),
-                            expectedIndentation + 1, lastLine + i + 1,
-                            logger);
-                    elements.add(new FileSection(fileName, lastLine + i, content.substring(0, content.length() - 1),
-                            sectionElements, expectedIndentation
-                    ));
-                    i += count(sectionElements);
-                }
+                List<FileElement> sectionElements = new ArrayList<>();
+                current.add(new FileSection(fileName, lastLine + i, content.substring(0, content.length() - 1),
+                        sectionElements, indentation
+                ));
+                sections.add(sectionElements);
             } else {
-                elements.add(new FileElement(fileName, lastLine + i, content, expectedIndentation));
+                current.add(new FileElement(fileName, lastLine + i, content, indentation));
             }
         }
         return elements;
     }
 
-    private static int count(List<FileElement> elements) {
-        var count = 0;
-        for (var element : elements) {
-            if (element instanceof FileSection) {
-                count += count(((FileSection) element).getElements()) + 1;
-            } else {
-                count++;
-            }
-        }
-        return count;
-    }
-
     /**
      * Removes all comments from a given String
      * @param string the String
@@ -92,7 +80,7 @@ public class FileParser {
      */
     @Nullable
     private static String removeComments(String string) {
-        if (string.matches("^[\\s\\t]*#[^#]+") || string.startsWith("#") || string.isBlank()) {
+        if (string.startsWith("#") || string.isBlank() || isComment(string)) {
             return ""; // Whole string is a comment
         }
 
@@ -102,29 +90,56 @@ public class FileParser {
             char c = string.charAt(i);
 
             if (c == '#') {
-                if (string.charAt(i + 1) == '#') {
+                if (i + 1 < string.length() && string.charAt(i + 1) == '#') {
                     builder.append(c).append(string.charAt(++i));
                 } else {
-                    var checked = string.substring(i + 1);
                     for (int j : new int[] {3, 6, 8}) {
-                        if (checked.length() >= j
-                                && Color.COLOR_PATTERN.matcher(checked.substring(0, j)).matches()) {
-                            builder.append(c).append(checked, 0, j);
-                            i+=j;
+                        if (isHexColor(string, i + 1, j)) {
+                            builder.append(string, i, i + j + 1);
+                            i += j;
                             continue outer;
                         }
                     }
 
                     // Comment was found. Erase it from the string
-                    assert !builder.toString().isEmpty();
+                    assert builder.length() > 0;
                     return builder.toString().strip();
                 }
             } else {
                 builder.append(c);
             }
         }
-        if (builder.toString().equals(string))
+        if (builder.length() == string.length())
             return null;
         return builder.toString().strip();
     }
+
+    /**
+     * @param string the String
+     * @return whether the String only consists of some indentation followed by a comment
+     */
+    private static boolean isComment(String string) {
+        var i = 0;
+        while (i < string.length() && Character.isWhitespace(string.charAt(i)))
+            i++;
+        return i + 1 < string.length() && string.charAt(i) == '#' && string.indexOf('#', i + 1) == -1;
+    }
+
+    /**
+     * @param string the String
+     * @param start the index to start at
+     * @param length the length of the color code
+     * @return whether the given part of the String is a lowercase hexadecimal color code
+     * @see Color#COLOR_PATTERN
+     */
+    private static boolean isHexColor(String string, int start, int length) {
+        if (start + length > string.length())
+            return false;
+        for (var i = start; i < start + length; i++) {
+            var c = string.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f'))
+                return false;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,169 @@
+package io.github.syst3ms.skriptparser.lang;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The state of a single execution of some code, typically a {@link Trigger}.
+ * <br>
+ * Parsed code is shared between all of its executions, which may run at the same time on different threads. This is
+ * why {@linkplain Statement statements} must not store anything tied to a specific execution (loop iterators, section
+ * arguments, returned values...) inside of their own fields, but inside of the current frame instead, usually using
+ * the statement itself as the key.
+ * <br>
+ * A frame is bound to the thread running its code. Code that continues the same execution later on, possibly on
+ * another thread, must be wrapped using {@link #inherit(Runnable)}, while code running alongside it must be wrapped
+ * using {@link #fork(Runnable)}.
+ * @see Statement#runAll(Statement, TriggerContext)
+ */
+public class ExecutionFrame {
+    private static final ThreadLocal<ExecutionFrame> current = new ThreadLocal<>();
+
+    @Nullable
+    private final ExecutionFrame parent;
+    private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+    private ExecutionFrame(@Nullable ExecutionFrame parent) {
+        this.parent = parent;
+        if (parent != null)
+            values.putAll(parent.values);
+    }
+
+    /**
+     * @return the frame of the code running on the current thread, if any
+     */
+    public static Optional<ExecutionFrame> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Returns the frame of the code running on the current thread. Frames are only ever created by
+     * {@link #run(Supplier)} and {@link #fork(Runnable)}, so that no state outlives the execution it belongs to :
+     * statements must be {@linkplain Statement#runAll(Statement, TriggerContext) run} rather than walked through
+     * directly in order to store anything.
+     * @return the frame of the code running on the current thread
+     * @throws IllegalStateException if no code is running on the current thread
+     */
+    public static ExecutionFrame require() {
+        var frame = current.get();
+        if (frame == null)
+            throw new IllegalStateException("No code is running on the current thread");
+        return frame;
+    }
+
+    /**
+     * Runs the given code in a new frame. If the current thread is already running some code, like when a trigger
+     * runs another one, the new frame shares nothing with the current one, which is restored once the code ran.
+     * @param code the code to run
+     * @param <T> the result type
+     * @return the result of the code
+     */
+    public static <T> T run(Supplier<T> code) {
+        var previous = current.get();
+        current.set(new ExecutionFrame(null));
+        try {
+            return code.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Wraps code that continues the current execution at a later point, so that it runs in the current frame.
+     * @param code the code continuing the current execution
+     * @return the wrapped code
+     */
+    public static Runnable inherit(Runnable code) {
+        var frame = current.get();
+        return frame == null ? code : bind(frame, code);
+    }
+
+    /**
+     * Wraps code that runs alongside the current execution. It runs in a new frame, whose
+     * {@linkplain #getParent() parent} is the current one. The new frame starts with a copy of the values of the
+     * current one, so that the code sees the state of the sections it is part of (like the current value of a loop)
+     * as it was when it was forked, while the current execution carries on.
+     * @param code the code running alongside the current execution
+     * @return the wrapped code
+     */
+    public static Runnable fork(Runnable code) {
+        return bind(new ExecutionFrame(current.get()), code);
+    }
+
+    private static Runnable bind(ExecutionFrame frame, Runnable code) {
+        return () -> {
+            var previous = current.get();
+            current.set(frame);
+            try {
+                code.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(@Nullable ExecutionFrame previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    /**
+     * @return the frame this frame was {@linkplain #fork(Runnable) forked} from, if any
+     */
+    public Optional<ExecutionFrame> getParent() {
+        return Optional.ofNullable(parent);
+    }
+
+    /**
+     * @return the frame of the execution this frame was ultimately forked from, or this frame if it wasn't forked
+     */
+    public ExecutionFrame getRoot() {
+        var root = this;
+        while (root.parent != null)
+            root = root.parent;
+        return root;
+    }
+
+    /**
+     * @param key the key
+     * @param <T> the type of the value
+     * @return the value stored under the given key in this frame, if any
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(Object key) {
+        return Optional.ofNullable((T) values.get(key));
+    }
+
+    /**
+     * Stores a value under the given key in this frame.
+     * @param key the key
+     * @param value the value, or {@code null} to remove the current value
+     */
+    public void set(Object key, @Nullable Object value) {
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+    /**
+     * Returns the value stored under the given key in this frame, atomically storing a new one first if there is none.
+     * The supplier must not access this frame.
+     * @param key the key
+     * @param supplier supplies the new value
+     * @param <T> the type of the value
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(Object key, Supplier<? extends T> supplier) {
+        return (T) values.computeIfAbsent(key, __ -> supplier.get());
+    }
+}
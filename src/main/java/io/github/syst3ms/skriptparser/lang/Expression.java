@@ -9,6 +9,7 @@ import io.github.syst3ms.skriptparser.registration.SyntaxManager;
 import io.github.syst3ms.skriptparser.sections.SecLoop;
 import io.github.syst3ms.skriptparser.types.changers.ChangeMode;
 import io.github.syst3ms.skriptparser.types.conversions.Converters;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -52,13 +53,27 @@ public interface Expression<T> extends SyntaxElement {
      * @throws SkriptRuntimeException if the expression returns more than one value
      */
     default Optional<? extends T> getSingle(TriggerContext ctx) {
+        return Optional.ofNullable(getSingleOrNull(ctx));
+    }
+
+    /**
+     * Gets a single value out of this Expression, without wrapping it inside of an array or an {@link Optional}.
+     * Code that runs often should prefer this method over {@link #getSingle(TriggerContext)}, and expressions are
+     * encouraged to override it so that their value is computed directly. By default, this relies on
+     * {@link #getValues(TriggerContext)}.
+     * @param ctx the event
+     * @return the single value of this Expression, or {@code null} if it has no value
+     * @throws SkriptRuntimeException if the expression returns more than one value
+     */
+    @Nullable
+    default T getSingleOrNull(TriggerContext ctx) {
         var values = getValues(ctx);
         if (values.length == 0) {
-            return Optional.empty();
+            return null;
         } else if (values.length > 1) {
             throw new SkriptRuntimeException("Can't call getSingle on an expression that returns multiple values!");
         } else {
-            return Optional.ofNullable(values[0]);
+            return values[0];
         }
     }
 
@@ -0,0 +1,72 @@
+package io.github.syst3ms.skriptparser.lang;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * The values of a {@linkplain Pure pure} expression, computed at parse time.
+ * Apart from its values being fixed, this literal behaves like the expression it was computed from.
+ * @param <T> the type of the values
+ * @see Pure
+ */
+public class FoldedLiteral<T> extends SimpleLiteral<T> {
+    private final Expression<? extends T> source;
+
+    @SuppressWarnings("unchecked")
+    private FoldedLiteral(Expression<? extends T> source, T[] values) {
+        super((Class<T>) source.getReturnType(), values);
+        this.source = source;
+    }
+
+    /**
+     * Computes the values of the given expression at parse time, if possible. This is the case when the expression
+     * is {@linkplain Pure pure}, all of its sub-expressions are {@linkplain Literal#isLiteral(Expression) literals}
+     * and it is {@linkplain Pure#isCheapToFold() cheap enough} to compute.
+     * @param expression the expression
+     * @param subExpressions the expressions the expression was initialized with
+     * @param <T> the type of the expression
+     * @return a literal holding the values of the expression, or an empty Optional if they can only be known at runtime
+     */
+    public static <T> Optional<FoldedLiteral<T>> fold(Expression<? extends T> expression, Expression<?>[] subExpressions) {
+        if (!(expression instanceof Pure) || !Arrays.stream(subExpressions).allMatch(Literal::isLiteral))
+            return Optional.empty();
+        T[] values;
+        try {
+            if (!((Pure) expression).isCheapToFold())
+                return Optional.empty();
+            values = expression.getValues(TriggerContext.DUMMY);
+        } catch (RuntimeException e) {
+            // Let the error happen at runtime, like it would have without folding
+            return Optional.empty();
+        }
+        return Optional.of(new FoldedLiteral<>(expression, values));
+    }
+
+    /**
+     * @return the expression these values were computed from
+     */
+    public Expression<? extends T> getSource() {
+        return source;
+    }
+
+    @Override
+    public boolean isSingle() {
+        return source.isSingle();
+    }
+
+    @Override
+    public Iterator<T> iterator(TriggerContext context) {
+        return Arrays.asList(getArray(context)).iterator();
+    }
+
+    @Override
+    public boolean isLoopOf(String loop) {
+        return source.isLoopOf(loop);
+    }
+
+    @Override
+    public String toString(TriggerContext ctx, boolean debug) {
+        return source.toString(ctx, debug);
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.syst3ms.skriptparser.lang;
+
+import io.github.syst3ms.skriptparser.expressions.ExprDateNow;
+import io.github.syst3ms.skriptparser.expressions.ExprRandomNumber;
+
+/**
+ * {@linkplain Expression Expressions} implementing this interface are pure : their values only depend on the values
+ * of their sub-expressions. They must not have any side-effect, nor depend on the context, the current time, randomness
+ * or the value of any variable.
+ * <br>
+ * When all sub-expressions of a pure expression are {@linkplain Literal literals}, the expression is evaluated only
+ * once, at parse time, and replaced with a {@link FoldedLiteral} holding its values. This makes constant computations
+ * such as {@code 2 * 60 * 1000} free at runtime.
+ * <br>
+ * Expressions like {@link ExprRandomNumber} or {@link ExprDateNow}, whose values change on every evaluation, must never
+ * implement this interface.
+ * @see FoldedLiteral
+ */
+public interface Pure {
+    /**
+     * Folding happens while parsing, so an expression whose cost grows very quickly with the values of its
+     * sub-expressions, like exponentiation, should only be folded when those values are small enough. Otherwise, it
+     * is evaluated at runtime as usual.
+     * @return whether the values of this expression are cheap enough to compute at parse time. This is only called
+     *         once all of its sub-expressions are known to be literals.
+     */
+    default boolean isCheapToFold() {
+        return true;
+    }
+}
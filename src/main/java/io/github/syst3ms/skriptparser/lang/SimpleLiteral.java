@@ -7,6 +7,7 @@ import io.github.syst3ms.skriptparser.types.conversions.Converters;
 import io.github.syst3ms.skriptparser.util.ClassUtils;
 import io.github.syst3ms.skriptparser.util.CollectionUtils;
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
@@ -52,6 +53,20 @@ public class SimpleLiteral<T> implements Literal<T> {
         }
     }
 
+    @Nullable
+    @Override
+    public T getSingleOrNull(TriggerContext ctx) {
+        if (values.length == 0) {
+            return null;
+        } else if (values.length == 1) {
+            return values[0];
+        } else if (isAndList) {
+            throw new SkriptRuntimeException("Can't call getSingle on an expression that returns multiple values!");
+        } else {
+            return CollectionUtils.getRandom(values);
+        }
+    }
+
     @Override
     public T[] getArray(TriggerContext ctx) {
         return values;
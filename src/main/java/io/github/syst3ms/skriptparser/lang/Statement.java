@@ -1,8 +1,10 @@
 package io.github.syst3ms.skriptparser.lang;
 
+import io.github.syst3ms.skriptparser.lang.control.CompiledCode;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * The base class for any runnable line of code inside of a script.
@@ -28,6 +30,16 @@ public abstract class Statement implements SyntaxElement {
         return Optional.ofNullable(parent);
     }
 
+    /**
+     * @return the {@link Trigger} this Statement is contained in, if any
+     */
+    public Optional<Trigger> getTrigger() {
+        Statement current = this;
+        while (current.parent != null)
+            current = current.parent;
+        return current instanceof Trigger ? Optional.of((Trigger) current) : Optional.empty();
+    }
+
     /**
      * Sets the parent {@link CodeSection} of this Statement
      * @param section the parent
@@ -82,14 +94,38 @@ public abstract class Statement implements SyntaxElement {
     }
 
     /**
-     * Runs all code starting at a given point sequentially
+     * Runs all code starting at a given point sequentially. The code runs in its own {@link ExecutionFrame}, which
+     * holds its local variables, even if some other code is already running on the current thread.
+     * If the code is part of a loaded {@link Trigger}, its {@linkplain CompiledCode compiled} form is used.
      * @param start the Statement the method should first run
      * @param context the context
      * @return {@code true} if the code ran normally, and {@code false} if any exception occurred
+     * @see ExecutionFrame#run(Supplier)
+     * @see #resumeAll(Statement, TriggerContext)
      */
     public static boolean runAll(Statement start, TriggerContext context) {
-        Optional<? extends Statement> item = Optional.of(start);
+        return ExecutionFrame.run(() -> walkAll(start, context));
+    }
+
+    /**
+     * Runs all code starting at a given point sequentially, as the continuation of the execution whose frame is bound
+     * to the current thread, typically through {@link ExecutionFrame#inherit(Runnable)}.
+     * @param start the Statement the method should first run
+     * @param context the context
+     * @return {@code true} if the code ran normally, and {@code false} if any exception occurred
+     */
+    public static boolean resumeAll(Statement start, TriggerContext context) {
+        return walkAll(start, context);
+    }
+
+    private static boolean walkAll(Statement start, TriggerContext context) {
         try {
+            var code = start.getTrigger().flatMap(Trigger::getCode);
+            if (code.isPresent()) {
+                code.get().run(start, context);
+                return true;
+            }
+            Optional<? extends Statement> item = Optional.of(start);
             while (item.isPresent())
                 item = item.flatMap(i -> i.walk(context));
             return true;
@@ -1,9 +1,13 @@
 package io.github.syst3ms.skriptparser.lang;
 
 import io.github.syst3ms.skriptparser.file.FileSection;
+import io.github.syst3ms.skriptparser.lang.control.Compilable;
+import io.github.syst3ms.skriptparser.lang.control.CompiledCode;
+import io.github.syst3ms.skriptparser.lang.control.Instruction;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import io.github.syst3ms.skriptparser.parsing.ParserState;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
@@ -11,8 +15,10 @@ import java.util.Optional;
  * A top-level section, that is not contained in code.
  * Usually declares an event.
  */
-public class Trigger extends CodeSection {
+public class Trigger extends CodeSection implements Compilable {
     private final SkriptEvent event;
+    @Nullable
+    private CompiledCode code;
 
     public Trigger(SkriptEvent event) {
         this.event = event;
@@ -30,6 +36,7 @@ public class Trigger extends CodeSection {
         setItems(event.loadSection(section, parserState, logger));
         parserState.removeCurrentSection();
         parserState.clearSyntaxRestrictions();
+        code = CompiledCode.compile(this);
         return true;
     }
 
@@ -38,6 +45,19 @@ public class Trigger extends CodeSection {
         return getFirst().filter(__ -> event.check(ctx));
     }
 
+    @Override
+    public Instruction compile(CompiledCode code) {
+        int first = code.indexOf(getFirst());
+        return ctx -> first != Instruction.END && event.check(ctx) ? first : Instruction.END;
+    }
+
+    /**
+     * @return the compiled code of this trigger, once it has been loaded
+     */
+    public Optional<CompiledCode> getCode() {
+        return Optional.ofNullable(code);
+    }
+
     @Override
     public String toString(TriggerContext ctx, boolean debug) {
         return event.toString(ctx, debug);
@@ -58,15 +58,31 @@ public class Variable<T> implements Expression<T> {
     public T[] getValues(TriggerContext ctx) {
         if (list)
             return getConvertedArray(ctx);
-        var o = getConverted(ctx);
-        if (o.isEmpty()) {
+        var o = getSingleOrNull(ctx);
+        if (o == null) {
             return (T[]) Array.newInstance(supertype, 0);
         }
         var one = (T[]) Array.newInstance(supertype, 1);
-        one[0] = o.get();
+        one[0] = o;
         return one;
     }
 
+    @Nullable
+    @Override
+    public T getSingleOrNull(TriggerContext ctx) {
+        if (list)
+            return Expression.super.getSingleOrNull(ctx);
+        var n = name.toString(ctx);
+        if (n.endsWith(Variables.LIST_SEPARATOR + "*"))
+            return null;
+        var value = Variables.getSingleVariable(n, ctx, local);
+        if (value == null)
+            value = Variables.getSingleVariable((local ? Variables.LOCAL_VARIABLE_TOKEN : "") + name.defaultVariableName(), ctx, false);
+        if (value == null || type.isInstance(value))
+            return (T) value;
+        return (T) Converters.convert(value, type).orElse(null);
+    }
+
     /**
      * @param ctx the event
      * @return the index of this Variable
@@ -93,10 +109,6 @@ public class Variable<T> implements Expression<T> {
                 ));
     }
 
-    private Optional<? extends T> getConverted(TriggerContext ctx) {
-        return (Optional<? extends T>) Converters.convert(get(ctx).orElse(null), type);
-    }
-
     @SuppressWarnings("ConstantConditions")
     private T[] getConvertedArray(TriggerContext ctx) {
         return Converters.convertArray((Object[]) get(ctx).orElse(null), (Class<T>) type, (Class<T>) supertype);
@@ -147,21 +159,7 @@ public class Variable<T> implements Expression<T> {
     public void change(TriggerContext ctx, ChangeMode mode, Object[] changeWith) throws UnsupportedOperationException {
         switch (mode) {
             case DELETE:
-                if (list) {
-                    var rem = new ArrayList<String>();
-                    var o = (Map<String, Object>) getRaw(ctx).orElse(null);
-                    if (o == null)
-                        return;
-                    for (var i : o.entrySet()) {
-                        if (i.getKey() != null){
-                            rem.add(i.getKey());
-                        }
-                    }
-                    for (var r : rem) {
-                        assert r != null;
-                        setIndex(ctx, r, null);
-                    }
-                }
+                // Deleting a list variable deletes all of its elements
                 set(ctx, null);
                 break;
             case SET:
@@ -207,47 +205,13 @@ public class Variable<T> implements Expression<T> {
             case REMOVE_ALL:
                 assert changeWith.length > 0;
                 if (list) {
-                    Optional<? extends Map<String, Object>> o = getRaw(ctx).map(r -> (Map<String, Object>) r);
-                    if (mode == ChangeMode.REMOVE) {
-                        if (o.isEmpty())
-                            return;
-                        var rem = new ArrayList<String>(); // prevents CMEs
-                        for (var d : changeWith) {
-                            for (var i : o.get().entrySet()) {
-                                if (Relation.EQUAL.is(Comparators.compare(i.getValue(), d))) {
-                                    rem.add(i.getKey());
-                                    break;
-                                }
-                            }
-                        }
-                        for (var r : rem) {
-                            assert r != null;
-                            setIndex(ctx, r, null);
-                        }
-                    } else if (mode == ChangeMode.REMOVE_ALL) {
-                        if (o.isEmpty())
-                            return;
-                        var rem = new ArrayList<String>(); // prevents CMEs
-                        for (var i : o.get().entrySet()) {
-                            for (var d : changeWith) {
-                                if (Relation.EQUAL.is(Comparators.compare(i.getValue(), d)))
-                                    rem.add(i.getKey());
-                            }
-                        }
-                        for (var r : rem) {
-                            assert r != null;
-                            setIndex(ctx, r, null);
-                        }
+                    // The list is changed directly, rather than read in its entirety first
+                    var n = name.toString(ctx);
+                    if (mode == ChangeMode.ADD) {
+                        Variables.addToList(n, changeWith, ctx, local);
                     } else {
-                        assert mode == ChangeMode.ADD;
-                        var i = 1;
-                        for (var d : changeWith) {
-                            if (o.isPresent())
-                                while (o.get().containsKey(String.valueOf(i)))
-                                    i++;
-                            setIndex(ctx, String.valueOf(i), d);
-                            i++;
-                        }
+                        Variables.removeFromList(n, changeWith, mode == ChangeMode.REMOVE_ALL,
+                                (element, d) -> Relation.EQUAL.is(Comparators.compare(element, d)), ctx, local);
                     }
                 } else {
                     Optional<Object> o = get(ctx);
@@ -311,7 +275,7 @@ public class Variable<T> implements Expression<T> {
         var val = Variables.getVariable(name + "*", ctx, local);
         if (val.isEmpty())
             return Collections.emptyIterator();
-        assert val.get() instanceof TreeMap;
+        assert val.get() instanceof Map;
         // Temporary list to prevent CMEs
         var keys = new ArrayList<>(((Map<String, Object>) val.get()).keySet()).iterator();
         return new Iterator<>() {
@@ -325,7 +289,9 @@ public class Variable<T> implements Expression<T> {
                 while (keys.hasNext()) {
                     @Nullable String key = keys.next();
                     if (key != null) {
-                        next = (T) Converters.convert(Variables.getVariable(name + key, ctx, local), type).orElse(null);
+                        next = (T) Variables.getVariable(name + key, ctx, local)
+                                .flatMap(v -> Converters.convert(v, type))
+                                .orElse(null);
                         if (next != null && !(next instanceof TreeMap))
                             return true;
                     }
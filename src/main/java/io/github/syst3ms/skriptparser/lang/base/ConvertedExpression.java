@@ -24,6 +24,8 @@ public class ConvertedExpression<F, T> implements Expression<T> {
     private final Expression<? extends F> source;
     private final Class<T> to;
     private final Function<? super F, Optional<? extends T>> converter;
+    @Nullable
+    private Boolean single;
 
     private ConvertedExpression(Expression<? extends F> source, Class<T> to, Function<? super F, Optional<? extends T>> converter) {
         this.source = source;
@@ -64,6 +66,18 @@ public class ConvertedExpression<F, T> implements Expression<T> {
         return Converters.convert(source.getValues(ctx), to, converter);
     }
 
+    @Nullable
+    @Override
+    public T getSingleOrNull(TriggerContext ctx) {
+        if (single == null)
+            single = source.isSingle();
+        // Conversion may discard values, so multiple values may still result in a single one
+        if (!single)
+            return Expression.super.getSingleOrNull(ctx);
+        F value = source.getSingleOrNull(ctx);
+        return value == null ? null : converter.apply(value).orElse(null);
+    }
+
     @Override
     public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
         throw new UnsupportedOperationException();
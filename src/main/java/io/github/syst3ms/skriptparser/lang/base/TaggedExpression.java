@@ -16,6 +16,11 @@ public abstract class TaggedExpression implements Expression<String> {
 		return new String[] {toString(ctx, "default")};
 	}
 
+	@Override
+	public String getSingleOrNull(TriggerContext ctx) {
+		return toString(ctx, "default");
+	}
+
 	/**
 	 * Returns the value of this string after applying the tags according to the given tag context.
 	 * @param ctx the event
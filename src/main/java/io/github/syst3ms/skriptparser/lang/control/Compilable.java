@@ -0,0 +1,29 @@
+package io.github.syst3ms.skriptparser.lang.control;
+
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.sections.SecConditional;
+import io.github.syst3ms.skriptparser.sections.SecLoop;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@linkplain Statement Statements} implementing this interface can be compiled into a single {@link Instruction},
+ * whose jump targets are resolved once, when the code is loaded, instead of every time the statement is
+ * {@linkplain Statement#walk(TriggerContext) walked} on.
+ * <br>
+ * Statements that don't implement this interface are still walked on as usual. Statements that don't override
+ * {@link Statement#walk(TriggerContext)} don't need to implement it, since they are compiled automatically.
+ * <br>
+ * The compiled instruction must behave exactly like {@link Statement#walk(TriggerContext)} does.
+ * @see SecConditional
+ * @see SecLoop
+ */
+public interface Compilable {
+	/**
+	 * Compiles this statement. This is called once all the code this statement is part of has been loaded.
+	 * @param code the code this statement is part of, used to get the index of the statements to jump to
+	 * @return the instruction, or {@code null} if this statement can't be compiled and should be walked on instead
+	 */
+	@Nullable
+	Instruction compile(CompiledCode code);
+}
@@ -0,0 +1,142 @@
+package io.github.syst3ms.skriptparser.lang.control;
+
+import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The code of a {@link Trigger}, flattened into an array of {@linkplain Instruction instructions}.
+ * <br>
+ * Every statement of the trigger gets an index, and is compiled into an instruction returning the index of the next
+ * statement to run. Statements that don't override {@link Statement#walk(TriggerContext)} are compiled automatically,
+ * and other statements may opt in by implementing {@link Compilable}. All remaining statements are walked on as usual,
+ * which is slower but behaves the same.
+ * @see Statement#runAll(Statement, TriggerContext)
+ */
+public class CompiledCode {
+	private final Statement[] statements;
+	private final Map<Statement, Integer> indices = new IdentityHashMap<>();
+	private final Instruction[] instructions;
+
+	private CompiledCode(Statement[] statements) {
+		this.statements = statements;
+		for (var i = 0; i < statements.length; i++)
+			indices.put(statements[i], i);
+		instructions = new Instruction[statements.length];
+		for (var i = 0; i < statements.length; i++)
+			instructions[i] = compile(statements[i]);
+	}
+
+	/**
+	 * Compiles the code of the given trigger. This must only be called once all of its code has been loaded.
+	 * @param trigger the trigger
+	 * @return the compiled code
+	 */
+	public static CompiledCode compile(Trigger trigger) {
+		List<Statement> statements = new ArrayList<>();
+		collect(trigger, statements);
+		return new CompiledCode(statements.toArray(new Statement[0]));
+	}
+
+	private static void collect(Statement statement, List<Statement> statements) {
+		statements.add(statement);
+		if (statement instanceof CodeSection && ((CodeSection) statement).getItems() != null) {
+			for (var item : ((CodeSection) statement).getItems())
+				collect(item, statements);
+		}
+	}
+
+	@Nullable
+	private Instruction compile(Statement statement) {
+		try {
+			if (statement instanceof Compilable) {
+				return ((Compilable) statement).compile(this);
+			} else if (walksByDefault(statement.getClass())) {
+				// Mirrors Statement#walk
+				int next = indexOf(statement.getNext());
+				int exit = indexOf(statement.getParent().flatMap(Statement::getNext));
+				return ctx -> statement.run(ctx) ? next : exit;
+			}
+		} catch (IllegalArgumentException e) {
+			// The statement jumps to code that isn't part of the trigger, so it's simply walked on
+		}
+		return null;
+	}
+
+	private static boolean walksByDefault(Class<? extends Statement> c) {
+		try {
+			return c.getMethod("walk", TriggerContext.class).getDeclaringClass() == Statement.class;
+		} catch (NoSuchMethodException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * @param statement a statement of this code
+	 * @return the index of the instruction compiled from the given statement, or {@link Instruction#END} if there is
+	 *         no statement
+	 * @throws IllegalArgumentException if the statement isn't part of this code
+	 */
+	public int indexOf(@Nullable Statement statement) {
+		if (statement == null)
+			return Instruction.END;
+		var index = indices.get(statement);
+		if (index == null)
+			throw new IllegalArgumentException("The statement '" + statement.toString(TriggerContext.DUMMY, false) + "' isn't part of this code");
+		return index;
+	}
+
+	/**
+	 * @param statement a statement of this code
+	 * @return the index of the instruction compiled from the given statement, or {@link Instruction#END} if there is
+	 *         no statement
+	 * @throws IllegalArgumentException if the statement isn't part of this code
+	 */
+	public int indexOf(Optional<? extends Statement> statement) {
+		return indexOf(statement.orElse(null));
+	}
+
+	/**
+	 * Runs the code starting at the given statement, until the execution stops.
+	 * @param start the statement to start from
+	 * @param ctx the context
+	 */
+	public void run(Statement start, TriggerContext ctx) {
+		var index = indices.get(start);
+		if (index == null) {
+			walk(start, ctx);
+			return;
+		}
+		int current = index;
+		while (current != Instruction.END) {
+			var instruction = instructions[current];
+			if (instruction != null) {
+				current = instruction.execute(ctx);
+				continue;
+			}
+			var next = statements[current].walk(ctx).orElse(null);
+			if (next == null)
+				return;
+			index = indices.get(next);
+			if (index == null) {
+				walk(next, ctx);
+				return;
+			}
+			current = index;
+		}
+	}
+
+	private static void walk(Statement start, TriggerContext ctx) {
+		Optional<? extends Statement> item = Optional.of(start);
+		while (item.isPresent())
+			item = item.flatMap(i -> i.walk(ctx));
+	}
+}
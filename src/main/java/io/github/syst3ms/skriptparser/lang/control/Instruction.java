@@ -0,0 +1,24 @@
+package io.github.syst3ms.skriptparser.lang.control;
+
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+
+/**
+ * A single step of some {@linkplain CompiledCode compiled code}. Executing an instruction runs the statement it was
+ * compiled from, and tells which instruction to execute next.
+ * @see Compilable
+ * @see CompiledCode
+ */
+@FunctionalInterface
+public interface Instruction {
+	/**
+	 * The index returned by an instruction after which the execution stops.
+	 */
+	int END = -1;
+
+	/**
+	 * Executes this instruction.
+	 * @param ctx the context
+	 * @return the index of the next instruction to execute, or {@link #END} if the execution should stop
+	 */
+	int execute(TriggerContext ctx);
+}
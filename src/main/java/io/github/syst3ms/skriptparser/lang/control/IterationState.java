@@ -0,0 +1,88 @@
+package io.github.syst3ms.skriptparser.lang.control;
+
+import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
+import io.github.syst3ms.skriptparser.sections.SecFilter;
+import io.github.syst3ms.skriptparser.sections.SecLoop;
+import io.github.syst3ms.skriptparser.sections.SecMap;
+import io.github.syst3ms.skriptparser.sections.SecSwitch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The state of a single execution of a {@linkplain CodeSection section} going through some values one at a time,
+ * like {@linkplain SecLoop loops}, {@linkplain SecMap maps}, {@linkplain SecFilter filters} or
+ * {@linkplain SecSwitch switches}. It is stored inside of the {@link ExecutionFrame} of the execution, using the
+ * section as the key, and must be {@linkplain #clear(CodeSection) cleared} once the section is {@linkplain Finishing finished}.
+ * @param <T> the type of the values
+ */
+public class IterationState<T> {
+    private final Iterator<? extends T> iterator;
+    private final List<Object> results = new ArrayList<>();
+    private boolean done = false;
+
+    private IterationState(Iterator<? extends T> iterator) {
+        this.iterator = iterator;
+    }
+
+    /**
+     * @param section the section
+     * @param iterator supplies the values of the section, if it didn't start going through them yet
+     * @param <T> the type of the values
+     * @return the state of the given section in the current execution, which is created if the section just started
+     * @throws IllegalStateException if no code is running on the current thread
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> IterationState<T> start(CodeSection section, Supplier<? extends Iterator<? extends T>> iterator) {
+        var frame = ExecutionFrame.require();
+        IterationState<T> state = frame.<IterationState<T>>get(section).orElse(null);
+        if (state == null) {
+            state = new IterationState<>(iterator.get());
+            frame.set(section, state);
+        }
+        return state;
+    }
+
+    /**
+     * @param section the section
+     * @param <T> the type of the values
+     * @return the state of the given section in the current execution, if it started going through its values
+     */
+    public static <T> Optional<IterationState<T>> get(CodeSection section) {
+        return ExecutionFrame.current().flatMap(frame -> frame.get(section));
+    }
+
+    /**
+     * Forgets the state of the given section in the current execution, so that it starts over the next time it runs.
+     * @param section the section
+     */
+    public static void clear(CodeSection section) {
+        ExecutionFrame.current().ifPresent(frame -> frame.set(section, null));
+    }
+
+    /**
+     * @return the values the section goes through
+     */
+    public Iterator<? extends T> getIterator() {
+        return iterator;
+    }
+
+    /**
+     * @return the results the section collected so far, for sections that produce some
+     */
+    public List<Object> getResults() {
+        return results;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+}
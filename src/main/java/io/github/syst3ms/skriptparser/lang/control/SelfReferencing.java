@@ -22,6 +22,8 @@ public interface SelfReferencing {
 	 * <br>
 	 * This method will return the actual statement that follows this statement.
 	 * This means, by convention, the next element that is not nested more than this statement.
+	 * If this statement is the last item of its section, this is whatever follows that section, just like
+	 * {@link Statement#getNext()} for other statements.
 	 * @return the element that is actually after this section
 	 */
 	Optional<Statement> getActualNext();
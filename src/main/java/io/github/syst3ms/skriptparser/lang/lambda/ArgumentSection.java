@@ -3,6 +3,7 @@ package io.github.syst3ms.skriptparser.lang.lambda;
 import io.github.syst3ms.skriptparser.effects.EffContinue;
 import io.github.syst3ms.skriptparser.effects.EffReturn;
 import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.control.Finishing;
 
@@ -12,7 +13,8 @@ import java.util.Optional;
  * A {@link CodeSection} that can hold information about arguments.
  */
 public abstract class ArgumentSection extends CodeSection implements Finishing {
-    private Object[] arguments;
+    // The arguments are specific to each execution, so they are stored in its frame under this key
+    private final Object argumentsKey = new Object();
 
     /**
      * This function is called from the section containing the code, and returns an Optional describing
@@ -44,17 +46,21 @@ public abstract class ArgumentSection extends CodeSection implements Finishing {
     public void finish() { /* Nothing */ }
 
     /**
-     * @return the arguments passed to this section's code
+     * @return the arguments passed to this section's code in the current execution, or {@code null} if none were
+     *         passed yet
      */
     public Object[] getArguments() {
-        return arguments;
+        return ExecutionFrame.current()
+                .flatMap(frame -> frame.<Object[]>get(argumentsKey))
+                .orElse(null);
     }
 
     /**
-     * Sets the arguments that should be passed to the section code.
+     * Sets the arguments that should be passed to the section code in the current execution.
      * @param arguments this section's arguments
+     * @throws IllegalStateException if no code is running on the current thread
      */
     public void setArguments(Object... arguments) {
-        this.arguments = arguments;
+        ExecutionFrame.require().set(argumentsKey, arguments);
     }
 }
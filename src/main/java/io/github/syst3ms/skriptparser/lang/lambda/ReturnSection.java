@@ -1,7 +1,7 @@
 package io.github.syst3ms.skriptparser.lang.lambda;
 
 import io.github.syst3ms.skriptparser.effects.EffReturn;
-import org.jetbrains.annotations.Nullable;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 
 import java.util.Optional;
 
@@ -11,25 +11,25 @@ import java.util.Optional;
  * @param <T> the type of the return value.
  */
 public abstract class ReturnSection<T> extends ArgumentSection {
-    @Nullable
-    private T[] returned;
+    // The returned values are specific to each execution, so they are stored in its frame under this key
+    private final Object returnedKey = new Object();
 
     /**
-     * The values being returned from inside this section.
+     * The values being returned from inside this section in the current execution.
      * @return an Optional describing the returned values, or an empty Optional if no values have been returned so far.
      */
     public Optional<T[]> getReturned() {
-        return Optional.ofNullable(returned);
+        return ExecutionFrame.current().flatMap(frame -> frame.get(returnedKey));
     }
 
     /**
-     * Sets the values returned from inside this section.
+     * Sets the values returned from inside this section in the current execution.
      * @param returned the returned values
      * @throws ClassCastException if the values passed aren't of the type {@link T}
+     * @throws IllegalStateException if no code is running on the current thread
      */
-    @SuppressWarnings("unchecked")
     public void setReturned(Object[] returned) {
-        this.returned = (T[]) returned;
+        ExecutionFrame.require().set(returnedKey, returned);
     }
 
     /**
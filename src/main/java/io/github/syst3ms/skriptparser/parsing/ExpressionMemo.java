@@ -0,0 +1,145 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.registration.ExpressionInfo;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of every sub-expression parsed while a single line is being parsed.
+ *
+ * Without this, parsing a line like {@code a + b + c + d} tries to parse the same substrings over and over again,
+ * once for every pattern that could split the line at a different place, which is exponential in the worst case.
+ * With this memo, every (substring, expected type) pair is only fully parsed once per line.
+ *
+ * Expressions hold state and are sometimes modified by the syntax that uses them, so the parsed instances themselves
+ * are never shared. Instead, the memo remembers which {@link ExpressionInfo} matched the substring, if any, and the
+ * parser only tries that one again. Failures are remembered as such, and don't need to be parsed again at all.
+ *
+ * A memo is opened for every line being parsed and is confined to the current thread. The whole line is parsed with
+ * the same {@link ParserState}, which is why it isn't part of what the memo remembers outcomes by. Lines nested
+ * inside of a section get their own memo, since the {@link ParserState} they are parsed with is different.
+ */
+class ExpressionMemo {
+    private static final ThreadLocal<Deque<ExpressionMemo>> MEMOS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * The outcome of a parse that didn't produce anything
+     */
+    static final Result FAILURE = new Result(false, null);
+    /**
+     * The outcome of a successful parse that didn't come from a registered expression, like a literal or a variable
+     */
+    static final Result SUCCESS = new Result(true, null);
+
+    private final Map<Key, Result> results = new HashMap<>();
+
+    private ExpressionMemo() {}
+
+    /**
+     * Runs the parsing of a single line with its own memo.
+     * @param parsing the parsing of the line
+     * @param <T> the result type
+     * @return the result of the parsing
+     */
+    static <T> T withMemo(Supplier<T> parsing) {
+        var memos = MEMOS.get();
+        memos.push(new ExpressionMemo());
+        try {
+            return parsing.get();
+        } finally {
+            memos.pop();
+        }
+    }
+
+    /**
+     * @return the memo of the line currently being parsed, or {@literal null} if no line is being parsed
+     */
+    @Nullable
+    static ExpressionMemo current() {
+        return MEMOS.get().peek();
+    }
+
+    /**
+     * @param s the parsed string
+     * @param expected what the string was expected to be, typically a {@link io.github.syst3ms.skriptparser.types.PatternType}
+     * @return the remembered result, or {@literal null} if the string wasn't parsed yet
+     */
+    @Nullable
+    Result get(String s, Object expected) {
+        return results.get(new Key(s, expected));
+    }
+
+    /**
+     * Remembers the outcome of a parse. An outcome that is already known is not overwritten.
+     * @param s the parsed string
+     * @param expected what the string was expected to be
+     * @param result the outcome
+     */
+    void put(String s, Object expected, Result result) {
+        results.putIfAbsent(new Key(s, expected), result);
+    }
+
+    static class Result {
+        private final boolean success;
+        @Nullable
+        private final ExpressionInfo<?, ?> info;
+
+        private Result(boolean success, @Nullable ExpressionInfo<?, ?> info) {
+            this.success = success;
+            this.info = info;
+        }
+
+        /**
+         * @param info the syntax that matched
+         * @return the outcome of a parse that was matched by the given syntax
+         */
+        static Result matched(ExpressionInfo<?, ?> info) {
+            return new Result(true, info);
+        }
+
+        boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * @return the syntax that matched, or {@literal null} if the parse failed or didn't come from a registered syntax
+         */
+        @Nullable
+        ExpressionInfo<?, ?> getInfo() {
+            return info;
+        }
+    }
+
+    private static class Key {
+        private final String s;
+        private final Object expected;
+        private final int hash;
+
+        Key(String s, Object expected) {
+            this.s = s;
+            this.expected = expected;
+            this.hash = Objects.hash(s, expected);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            var o = (Key) obj;
+            return s.equals(o.s) && expected.equals(o.expected);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
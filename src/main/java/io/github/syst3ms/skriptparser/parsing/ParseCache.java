@@ -0,0 +1,150 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.registration.SyntaxInfo;
+import io.github.syst3ms.skriptparser.registration.SyntaxManager;
+import io.github.syst3ms.skriptparser.types.TypeManager;
+import io.github.syst3ms.skriptparser.types.conversions.Converters;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which syntax each line of code was parsed as, so that parsing the same line again, for example on the next
+ * startup, tries that syntax first instead of going through every syntax that could match it.
+ * <br>
+ * The cache may be {@linkplain #save(Path) saved} to a file and {@linkplain #load(Path) loaded} back later on. A cache
+ * file is only valid for the registrations it was saved with : if any syntax, type or converter changed in between,
+ * it is discarded. Cached syntaxes are still matched and initialized as usual, so a line that changed since only
+ * costs an unsuccessful attempt before being parsed normally. Only the lines that were parsed since the cache was
+ * loaded are saved, so that lines which were removed from the scripts don't stay in the file forever.
+ */
+public class ParseCache {
+    static final String EFFECT = "effect";
+    static final String SECTION = "section";
+    static final String EVENT = "event";
+
+    // The name of the syntax class each line was parsed as, keyed by the kind of line and the line itself
+    private static final Map<String, String> syntaxes = new ConcurrentHashMap<>();
+    // The entries of the cache file, which are only saved again if their line is parsed
+    private static final Map<String, String> loaded = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = false;
+
+    /**
+     * Enables the cache, and loads the entries of the given cache file if it exists and was saved with the current
+     * registrations.
+     * @param file the cache file
+     * @return whether the entries of the file were loaded
+     * @throws IOException if the file couldn't be read
+     */
+    public static boolean load(Path file) throws IOException {
+        enabled = true;
+        if (!Files.isRegularFile(file))
+            return false;
+        var lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(getRegistrationHash()))
+            return false;
+        for (var line : lines.subList(1, lines.size())) {
+            // The syntax class comes first, since lines of code may contain tabs
+            var separator = line.indexOf('\t');
+            if (separator != -1)
+                loaded.put(line.substring(separator + 1), line.substring(0, separator));
+        }
+        return true;
+    }
+
+    /**
+     * Saves the entries of all the lines parsed since the cache was enabled to the given file, along with a hash of
+     * the current registrations.
+     * @param file the cache file
+     * @throws IOException if the file couldn't be written
+     */
+    public static void save(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(getRegistrationHash());
+        for (var entry : syntaxes.entrySet())
+            lines.add(entry.getValue() + '\t' + entry.getKey());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Disables the cache and forgets all of its entries.
+     */
+    public static void clear() {
+        enabled = false;
+        syntaxes.clear();
+        loaded.clear();
+    }
+
+    /**
+     * @param kind the kind of line
+     * @param line the line
+     * @param infos all the syntaxes of that kind
+     * @param <T> the type of syntax
+     * @return the syntax the line was last parsed as, if it is known
+     */
+    static <T extends SyntaxInfo<?>> Optional<T> get(String kind, String line, List<T> infos) {
+        if (!enabled)
+            return Optional.empty();
+        var key = kind + '\t' + line;
+        var name = syntaxes.get(key);
+        if (name == null) {
+            name = loaded.get(key);
+            if (name == null)
+                return Optional.empty();
+            // The line is still in use, so its entry is kept. If the syntax doesn't match anymore, it is overwritten
+            syntaxes.put(key, name);
+        }
+        for (var info : infos) {
+            if (info.getSyntaxClass().getName().equals(name))
+                return Optional.of(info);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Remembers which syntax a line was parsed as.
+     * @param kind the kind of line
+     * @param line the line
+     * @param info the syntax
+     */
+    static void put(String kind, String line, SyntaxInfo<?> info) {
+        if (enabled)
+            syntaxes.put(kind + '\t' + line, info.getSyntaxClass().getName());
+    }
+
+    /**
+     * @return a hash of all the currently registered syntaxes, types and converters
+     */
+    private static String getRegistrationHash() {
+        List<String> registrations = new ArrayList<>();
+        for (var infos : List.of(SyntaxManager.getAllExpressions(), SyntaxManager.getEffects(), SyntaxManager.getSections(), SyntaxManager.getEvents())) {
+            for (var info : infos)
+                registrations.add(info.getSyntaxClass().getName() + ' ' + info.getPriority() + ' ' + info.getPatterns());
+        }
+        for (var type : TypeManager.getClassToTypeMap().entrySet())
+            registrations.add(type.getKey().getName() + ' ' + type.getValue().getBaseName());
+        for (var converter : Converters.getConverters())
+            registrations.add(converter.getFrom().getName() + ' ' + converter.getTo().getName() + ' ' + converter.getFlags());
+        registrations.sort(null);
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var registration : registrations)
+                digest.update((registration + '\n').getBytes(StandardCharsets.UTF_8));
+            var hash = new StringBuilder();
+            for (var b : digest.digest())
+                hash.append(String.format("%02x", b));
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
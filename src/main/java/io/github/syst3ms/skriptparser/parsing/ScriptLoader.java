@@ -4,20 +4,40 @@ import io.github.syst3ms.skriptparser.file.FileElement;
 import io.github.syst3ms.skriptparser.file.FileParser;
 import io.github.syst3ms.skriptparser.file.FileSection;
 import io.github.syst3ms.skriptparser.file.VoidElement;
+import io.github.syst3ms.skriptparser.lang.SkriptEvent;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.UnloadedTrigger;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.log.LogEntry;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.registration.EventBus;
+import io.github.syst3ms.skriptparser.registration.SkriptAddon;
 import io.github.syst3ms.skriptparser.util.FileUtils;
 import io.github.syst3ms.skriptparser.util.MultiMap;
+import io.github.syst3ms.skriptparser.util.ThreadUtils;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Contains the logic for loading, parsing and interpreting entire script files
@@ -25,6 +45,14 @@ import java.util.List;
 public class ScriptLoader {
 
     private static final MultiMap<String, Trigger> triggerMap = new MultiMap<>();
+    // The triggers of each loaded script, guarded by triggerMap
+    private static final Map<String, List<ScriptTrigger>> loadedScripts = new HashMap<>();
+    private static final Deque<ScriptTrigger> EMPTY_QUEUE = new ArrayDeque<>(0);
+    private static final Object reloadLock = new Object();
+    /**
+     * The extensions of the files {@link #loadDirectory(Path, boolean)} loads as scripts.
+     */
+    public static final List<String> SCRIPT_EXTENSIONS = List.of(".sk", ".txt");
 
     /**
      * Parses and loads the provided script in memory.
@@ -45,11 +73,138 @@ public class ScriptLoader {
      * @param debug whether debug is enabled.
      */
     public static List<LogEntry> loadScript(Path scriptPath, SkriptLogger logger, boolean debug) {
+        return parseScript(scriptPath, logger, Map.of())
+                .map(script -> {
+                    registerScript(script, false);
+                    return script.getLogs();
+                })
+                .orElse(Collections.emptyList());
+    }
+
+    /**
+     * Parses and loads the provided scripts in memory. The scripts are parsed in parallel, each with its own
+     * {@link SkriptLogger}, but the resulting triggers are handled by their addons in the order of the given scripts,
+     * as if they had been loaded one after the other.
+     *
+     * @param scriptPaths the script files to load.
+     * @param debug whether debug is enabled.
+     * @return the logged entries of each script, in the order of the given scripts
+     */
+    public static Map<Path, List<LogEntry>> loadScripts(Collection<Path> scriptPaths, boolean debug) {
+        List<ForkJoinTask<Optional<ParsedScript>>> tasks = new ArrayList<>();
+        for (var scriptPath : scriptPaths) {
+            tasks.add(ForkJoinPool.commonPool().submit(() -> parseScript(scriptPath, new SkriptLogger(debug), Map.of())));
+        }
+        Map<Path, List<LogEntry>> logs = new LinkedHashMap<>();
+        var i = 0;
+        for (var scriptPath : scriptPaths) {
+            var script = tasks.get(i++).join();
+            script.ifPresent(s -> registerScript(s, false));
+            logs.put(scriptPath, script.map(ParsedScript::getLogs).orElse(Collections.emptyList()));
+        }
+        return logs;
+    }
+
+    /**
+     * Parses and loads all the scripts inside of the given directory and its subdirectories in memory,
+     * using {@link #loadScripts(Collection, boolean)}. Only files with one of the {@linkplain #SCRIPT_EXTENSIONS script
+     * extensions} are loaded. Files whose name starts with a dash ({@code -}) are considered disabled, and hidden files
+     * and directories, whose name starts with a dot ({@code .}), are skipped as well.
+     *
+     * @param directory the directory containing the scripts to load.
+     * @param debug whether debug is enabled.
+     * @return the logged entries of each script, in alphabetical order of their path
+     */
+    public static Map<Path, List<LogEntry>> loadDirectory(Path directory, boolean debug) {
+        List<Path> scriptPaths;
+        try (var files = Files.walk(directory)) {
+            scriptPaths = files.filter(Files::isRegularFile)
+                    .filter(path -> isScript(directory.relativize(path)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Collections.emptyMap();
+        }
+        return loadScripts(scriptPaths, debug);
+    }
+
+    private static boolean isScript(Path relativePath) {
+        for (var name : relativePath) {
+            if (name.toString().startsWith("."))
+                return false;
+        }
+        var fileName = relativePath.getFileName().toString();
+        return !fileName.startsWith("-") && SCRIPT_EXTENSIONS.stream().anyMatch(fileName::endsWith);
+    }
+
+    /**
+     * Reloads the provided script, which may or may not be loaded already. Each trigger whose code didn't change since
+     * the last time the script was loaded is kept as is, and only the other ones are parsed again. Once they are,
+     * the triggers that were removed or changed are unloaded and the new ones are handed to their addon at once,
+     * so that the script keeps running normally while it is being reloaded. Scripts are reloaded one at a time.
+     * <br>
+     * Since other triggers may depend on triggers with a non-zero {@linkplain SkriptEvent#getLoadingPriority()
+     * loading priority}, the whole script is parsed again if any of those changed.
+     *
+     * @param scriptPath the script file to reload.
+     * @param debug whether debug is enabled.
+     * @return the logged entries of the triggers that were parsed again
+     * @see SkriptAddon#unhandleTrigger(Trigger)
+     */
+    public static List<LogEntry> reloadScript(Path scriptPath, boolean debug) {
+        synchronized (reloadLock) {
+            return doReloadScript(scriptPath, debug);
+        }
+    }
+
+    private static List<LogEntry> doReloadScript(Path scriptPath, boolean debug) {
+        var scriptName = getScriptName(scriptPath);
+        List<ScriptTrigger> previous;
+        synchronized (triggerMap) {
+            previous = loadedScripts.getOrDefault(scriptName, List.of());
+        }
+        Map<String, Deque<ScriptTrigger>> reusable = new HashMap<>();
+        for (var loaded : previous)
+            reusable.computeIfAbsent(loaded.getFingerprint(), __ -> new ArrayDeque<>()).add(loaded);
+        var parsed = parseScript(scriptPath, new SkriptLogger(debug), reusable);
+        if (parsed.isEmpty())
+            return Collections.emptyList();
+        var script = parsed.get();
+        if (!script.getReused().isEmpty()) {
+            var changed = Stream.concat(removedTriggers(previous, script).stream(), script.getAdded().stream());
+            if (changed.anyMatch(t -> t.getTrigger().getTrigger().getEvent().getLoadingPriority() != 0)) {
+                parsed = parseScript(scriptPath, new SkriptLogger(debug), Map.of());
+                if (parsed.isEmpty())
+                    return Collections.emptyList();
+                script = parsed.get();
+            }
+        }
+        registerScript(script, true);
+        return script.getLogs();
+    }
+
+    private static String getScriptName(Path scriptPath) {
+        return scriptPath.getFileName().toString().replaceAll("(.+)\\..+", "$1");
+    }
+
+    /**
+     * Parses the provided script and loads all of its triggers, without handing them to their addon yet.
+     * Parsing still writes to global registries, such as the {@link ParseCache} and whatever the syntax elements
+     * register while being initialized. This method may be called from multiple threads at once, so these registries
+     * must be thread-safe.
+     * @param scriptPath the script file to parse
+     * @param logger the logger
+     * @param reusable the triggers that don't need to be parsed again, by {@linkplain #getFingerprint(FileSection)
+     *                 fingerprint}. The triggers that are reused are removed from it.
+     * @return the parsed script, or empty if the file couldn't be read
+     */
+    private static Optional<ParsedScript> parseScript(Path scriptPath, SkriptLogger logger, Map<String, Deque<ScriptTrigger>> reusable) {
         List<FileElement> elements;
         String scriptName;
         try {
             var lines = FileUtils.readAllLines(scriptPath);
-            scriptName = scriptPath.getFileName().toString().replaceAll("(.+)\\..+", "$1");
+            scriptName = getScriptName(scriptPath);
             elements = FileParser.parseFileLines(scriptName,
                     lines,
                     0,
@@ -59,20 +214,31 @@ public class ScriptLoader {
             logger.finalizeLogs();
         } catch (IOException e) {
             e.printStackTrace();
-            return Collections.emptyList();
+            return Optional.empty();
         }
         logger.setFileInfo(scriptPath.getFileName().toString(), elements);
-        List<UnloadedTrigger> unloadedTriggers = new ArrayList<>();
+        List<ScriptTrigger> triggers = new ArrayList<>();
+        List<ScriptTrigger> added = new ArrayList<>();
         for (var element : elements) {
             logger.finalizeLogs();
             logger.nextLine();
             if (element instanceof VoidElement)
                 continue;
             if (element instanceof FileSection) {
-                var trig = SyntaxParser.parseTrigger((FileSection) element, logger);
+                var section = (FileSection) element;
+                var fingerprint = getFingerprint(section);
+                var previous = reusable.getOrDefault(fingerprint, EMPTY_QUEUE).poll();
+                if (previous != null) {
+                    logger.setLine(logger.getLine() + section.length());
+                    triggers.add(previous);
+                    continue;
+                }
+                var trig = SyntaxParser.parseTrigger(section, logger);
                 trig.ifPresent(t -> {
-                    logger.setLine(logger.getLine() + ((FileSection) element).length());
-                    unloadedTriggers.add(t);
+                    logger.setLine(logger.getLine() + section.length());
+                    var loaded = new ScriptTrigger(fingerprint, t);
+                    triggers.add(loaded);
+                    added.add(loaded);
                 });
             } else {
                 logger.error(
@@ -82,17 +248,87 @@ public class ScriptLoader {
                 );
             }
         }
-        unloadedTriggers.sort((a, b) -> b.getTrigger().getEvent().getLoadingPriority() - a.getTrigger().getEvent().getLoadingPriority());
-        for (var unloaded : unloadedTriggers) {
+        Comparator<ScriptTrigger> loadingOrder = Comparator.comparingInt(t -> -t.getTrigger().getTrigger().getEvent().getLoadingPriority());
+        triggers.sort(loadingOrder);
+        added.sort(loadingOrder);
+        for (var loaded : added) {
+            var unloaded = loaded.getTrigger();
             logger.finalizeLogs();
             logger.setLine(unloaded.getLine());
-            var loaded = unloaded.getTrigger();
-            loaded.loadSection(unloaded.getSection(), unloaded.getParserState(), logger);
-            unloaded.getEventInfo().getRegisterer().handleTrigger(loaded);
-            triggerMap.putOne(scriptName, loaded);
+            unloaded.getTrigger().loadSection(unloaded.getSection(), unloaded.getParserState(), logger);
         }
         logger.finalizeLogs();
-        return logger.close();
+        return Optional.of(new ParsedScript(scriptName, triggers, added, logger.close()));
+    }
+
+    /**
+     * Computes a fingerprint of the code of a trigger, which is the same for two triggers if and only if their code
+     * is the same, regardless of comments, blank lines and where the trigger is in the file.
+     * @param section the section of the trigger
+     * @return the fingerprint
+     */
+    private static String getFingerprint(FileSection section) {
+        var builder = new StringBuilder();
+        appendFingerprint(section, builder);
+        return builder.toString();
+    }
+
+    private static void appendFingerprint(FileElement element, StringBuilder builder) {
+        if (element instanceof VoidElement)
+            return;
+        builder.append("\t".repeat(element.getIndentation())).append(element.getLineContent());
+        if (element instanceof FileSection) {
+            builder.append(":\n");
+            for (var child : ((FileSection) element).getElements())
+                appendFingerprint(child, builder);
+        } else {
+            builder.append('\n');
+        }
+    }
+
+    private static List<ScriptTrigger> removedTriggers(List<ScriptTrigger> previous, ParsedScript script) {
+        Set<ScriptTrigger> reused = Collections.newSetFromMap(new IdentityHashMap<>());
+        reused.addAll(script.getReused());
+        return previous.stream()
+                .filter(t -> !reused.contains(t))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Hands all the new triggers of a parsed script to their respective addon, and registers them to the
+     * {@link EventBus}.
+     * @param script the parsed script
+     * @param replace whether the script replaces the previously loaded version of the script, in which case the
+     *                triggers it doesn't reuse are unloaded, or is loaded in addition to it
+     */
+    private static void registerScript(ParsedScript script, boolean replace) {
+        synchronized (triggerMap) {
+            var name = script.getName();
+            var previous = loadedScripts.getOrDefault(name, List.of());
+            var removed = replace ? removedTriggers(previous, script) : List.<ScriptTrigger>of();
+            Map<Trigger, Set<Class<? extends TriggerContext>>> added = new LinkedHashMap<>();
+            for (var loaded : script.getAdded())
+                added.put(loaded.getTrigger().getTrigger(), loaded.getTrigger().getEventInfo().getContexts());
+            for (var loaded : removed)
+                ThreadUtils.cancelAll(loaded.getTrigger().getTrigger());
+            EventBus.replace(removed.stream().map(t -> t.getTrigger().getTrigger()).collect(Collectors.toList()), added);
+            for (var loaded : removed)
+                loaded.getTrigger().getEventInfo().getRegisterer().unhandleTrigger(loaded.getTrigger().getTrigger());
+            for (var loaded : script.getAdded())
+                loaded.getTrigger().getEventInfo().getRegisterer().handleTrigger(loaded.getTrigger().getTrigger());
+
+            List<ScriptTrigger> current = new ArrayList<>();
+            if (!replace)
+                current.addAll(previous);
+            current.addAll(script.getTriggers());
+            if (current.isEmpty()) {
+                loadedScripts.remove(name);
+                triggerMap.remove(name);
+            } else {
+                loadedScripts.put(name, current);
+                triggerMap.put(name, current.stream().map(t -> t.getTrigger().getTrigger()).collect(Collectors.toList()));
+            }
+        }
     }
 
     /**
@@ -140,4 +376,78 @@ public class ScriptLoader {
     public static MultiMap<String, Trigger> getTriggerMap() {
         return triggerMap;
     }
-}
\ No newline at end of file
+
+    /**
+     * A trigger of a script, along with the {@linkplain #getFingerprint(FileSection) fingerprint} of its code.
+     */
+    private static class ScriptTrigger {
+        private final String fingerprint;
+        private final UnloadedTrigger trigger;
+
+        ScriptTrigger(String fingerprint, UnloadedTrigger trigger) {
+            this.fingerprint = fingerprint;
+            this.trigger = trigger;
+        }
+
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * @return the trigger, which has been loaded already
+         */
+        UnloadedTrigger getTrigger() {
+            return trigger;
+        }
+    }
+
+    /**
+     * A script whose triggers have all been loaded, but not yet handed to their addon.
+     */
+    private static class ParsedScript {
+        private final String name;
+        private final List<ScriptTrigger> triggers;
+        private final List<ScriptTrigger> added;
+        private final List<LogEntry> logs;
+
+        ParsedScript(String name, List<ScriptTrigger> triggers, List<ScriptTrigger> added, List<LogEntry> logs) {
+            this.name = name;
+            this.triggers = triggers;
+            this.added = added;
+            this.logs = logs;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the triggers of this script, in loading order. All of them have been loaded already.
+         */
+        List<ScriptTrigger> getTriggers() {
+            return triggers;
+        }
+
+        /**
+         * @return the triggers of this script that were parsed, rather than reused from a previous version of it
+         */
+        List<ScriptTrigger> getAdded() {
+            return added;
+        }
+
+        /**
+         * @return the triggers of this script that were reused from a previous version of it
+         */
+        List<ScriptTrigger> getReused() {
+            Set<ScriptTrigger> parsed = Collections.newSetFromMap(new IdentityHashMap<>());
+            parsed.addAll(added);
+            return triggers.stream()
+                    .filter(t -> !parsed.contains(t))
+                    .collect(Collectors.toList());
+        }
+
+        List<LogEntry> getLogs() {
+            return logs;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import io.github.syst3ms.skriptparser.util.RecentElementList;
 import io.github.syst3ms.skriptparser.util.StringUtils;
 import io.github.syst3ms.skriptparser.variables.Variables;
 import org.intellij.lang.annotations.MagicConstant;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
@@ -81,30 +82,35 @@ public class SyntaxParser {
             .map(val -> (ExpressionInfo<ExprBooleanOperators, Boolean>) val)
             .orElseThrow();
 
+    /*
+     * The recent syntax lists are thread-confined, so that multiple scripts can be parsed at the same time
+     * without interfering with each other's heuristics.
+     */
+
     /**
      * All {@link Effect effects} that are successfully parsed during parsing, in order of last successful parsing
      */
-    private static final RecentElementList<SyntaxInfo<? extends Effect>> recentEffects = new RecentElementList<>();
+    private static final ThreadLocal<RecentElementList<SyntaxInfo<? extends Effect>>> recentEffects = ThreadLocal.withInitial(RecentElementList::new);
     /**
      * All {@link CodeSection sections} that are successfully parsed during parsing, in order of last successful parsing
      */
-    private static final RecentElementList<SyntaxInfo<? extends CodeSection>> recentSections = new RecentElementList<>();
+    private static final ThreadLocal<RecentElementList<SyntaxInfo<? extends CodeSection>>> recentSections = ThreadLocal.withInitial(RecentElementList::new);
     /**
      * All {@link SkriptEvent events} that are successfully parsed during parsing, in order of last successful parsing
      */
-    private static final RecentElementList<SkriptEventInfo<?>> recentEvents = new RecentElementList<>();
+    private static final ThreadLocal<RecentElementList<SkriptEventInfo<?>>> recentEvents = ThreadLocal.withInitial(RecentElementList::new);
     /**
      * All {@link Expression expressions} that are successfully parsed during parsing, in order of last successful parsing
      */
-    private static final RecentElementList<ExpressionInfo<?, ?>> recentExpressions = new RecentElementList<>();
+    private static final ThreadLocal<RecentElementList<ExpressionInfo<?, ?>>> recentExpressions = ThreadLocal.withInitial(RecentElementList::new);
     /**
      * All {@link ConditionalExpression conditions} that are successfully parsed during parsing, in order of last successful parsing
      */
-    private static final RecentElementList<ExpressionInfo<? extends ConditionalExpression, ? extends Boolean>> recentConditions = new RecentElementList<>();
+    private static final ThreadLocal<RecentElementList<ExpressionInfo<? extends ConditionalExpression, ? extends Boolean>>> recentConditions = ThreadLocal.withInitial(RecentElementList::new);
     /**
      * All {@link ContextValue context values} that are successfully parsed during parsing, in order of last successful parsing
      */
-    private static final RecentElementList<ContextValue<?, ?>> recentContextValues = new RecentElementList<>();
+    private static final ThreadLocal<RecentElementList<ContextValue<?, ?>>> recentContextValues = ThreadLocal.withInitial(RecentElementList::new);
 
     /**
      * Parses an {@link Expression} from the given {@linkplain String} and {@link PatternType expected return type}
@@ -124,6 +130,47 @@ public class SyntaxParser {
             s = s.substring(1, s.length() - 1);
         }
 
+        var memo = ExpressionMemo.current();
+        if (memo == null)
+            return parseExpression(s, expectedType, parserState, logger, null, null);
+        var known = memo.get(s, expectedType);
+        if (known != null) {
+            if (!known.isSuccess()) {
+                logger.setContext(ErrorContext.NO_MATCH);
+                logger.error("No expression matching '" + s + "' was found", ErrorType.NO_MATCH);
+                return Optional.empty();
+            } else if (known.getInfo() != null) {
+                var expr = parseExpression(s, expectedType, parserState, logger, known.getInfo(), null);
+                if (expr.isPresent())
+                    return expr;
+                logger.forgetError();
+            }
+        }
+        var expr = parseExpression(s, expectedType, parserState, logger, null, memo);
+        memo.put(s, expectedType, expr.isPresent() ? ExpressionMemo.SUCCESS : ExpressionMemo.FAILURE);
+        return expr;
+    }
+
+    /**
+     * Parses an {@link Expression}, either by trying everything that could match or by only trying a syntax that
+     * is already known to match the given string
+     * @param known the syntax known to match, or {@literal null} to try everything
+     * @param memo the memo to record the matching syntax in, if any
+     */
+    private static <T> Optional<? extends Expression<? extends T>> parseExpression(String s, PatternType<T> expectedType, ParserState parserState, SkriptLogger logger,
+                                                                                   @Nullable ExpressionInfo<?, ?> known, @Nullable ExpressionMemo memo) {
+        var original = s;
+        /*
+         * A syntax is only remembered after the literal, variable and list literal checks below failed for the same
+         * string and expected type, and context values are only tried once no syntax matched. Parsing the same string
+         * again with the same parser state gives the same outcome, so none of these need to be tried again.
+         */
+        if (known != null) {
+            if (known != EXPRESSION_BOOLEAN_OPERATORS && s.toLowerCase().startsWith("list "))
+                s = s.substring("list ".length());
+            return matchKnownExpression(s, known, expectedType, parserState, logger);
+        }
+
         var literal = parseLiteral(s, expectedType, parserState, logger);
         if (literal.isPresent()) {
             logger.clearErrors();
@@ -153,8 +200,10 @@ public class SyntaxParser {
             // We parse boolean operators first to prevent clutter while parsing.
             var booleanOperator = matchExpressionInfo(s, EXPRESSION_BOOLEAN_OPERATORS, expectedType, parserState, logger);
             if (booleanOperator.isPresent()) {
-                recentExpressions.acknowledge(EXPRESSION_BOOLEAN_OPERATORS);
+                recentExpressions.get().acknowledge(EXPRESSION_BOOLEAN_OPERATORS);
                 logger.clearErrors();
+                if (memo != null)
+                    memo.put(original, expectedType, ExpressionMemo.Result.matched(EXPRESSION_BOOLEAN_OPERATORS));
                 return booleanOperator;
             }
         }
@@ -165,7 +214,7 @@ public class SyntaxParser {
                 return listLiteral;
             }
         }
-        for (var info : recentExpressions.mergeWith(SyntaxManager.getAllExpressions())) {
+        for (var info : recentExpressions.get().mergeWith(SyntaxManager.getExpressionCandidates(s))) {
             var expr = matchExpressionInfo(s, info, expectedType, parserState, logger);
             if (expr.isPresent()) {
                 if (parserState.isRestrictingExpressions() && parserState.forbidsSyntax(expr.get().getClass())) {
@@ -173,8 +222,10 @@ public class SyntaxParser {
                     logger.error("The enclosing section does not allow the use of this expression: " + expr.get().toString(TriggerContext.DUMMY, logger.isDebug()), ErrorType.SEMANTIC_ERROR);
                     return Optional.empty();
                 }
-                recentExpressions.acknowledge(info);
+                recentExpressions.get().acknowledge(info);
                 logger.clearErrors();
+                if (memo != null)
+                    memo.put(original, expectedType, ExpressionMemo.Result.matched(info));
                 return expr;
             }
             logger.forgetError();
@@ -211,6 +262,36 @@ public class SyntaxParser {
         if (s.startsWith("(") && s.endsWith(")") && StringUtils.findClosingIndex(s, '(', ')', 0) == s.length() - 1) {
             s = s.substring(1, s.length() - 1);
         }
+
+        var memo = ExpressionMemo.current();
+        if (memo == null)
+            return parseBooleanExpression(s, conditional, parserState, logger, null, null);
+        var known = memo.get(s, conditional);
+        if (known != null) {
+            if (!known.isSuccess()) {
+                logger.setContext(ErrorContext.NO_MATCH);
+                logger.error("No expression matching '" + s + "' was found", ErrorType.NO_MATCH);
+                return Optional.empty();
+            } else if (known.getInfo() != null) {
+                var expr = parseBooleanExpression(s, conditional, parserState, logger, known.getInfo(), null);
+                if (expr.isPresent())
+                    return expr;
+                logger.forgetError();
+            }
+        }
+        var expr = parseBooleanExpression(s, conditional, parserState, logger, null, memo);
+        memo.put(s, conditional, expr.isPresent() ? ExpressionMemo.SUCCESS : ExpressionMemo.FAILURE);
+        return expr;
+    }
+
+    /**
+     * Parses a boolean {@link Expression}, either by trying everything that could match or by only trying a syntax
+     * that is already known to match the given string
+     * @param known the syntax known to match, or {@literal null} to try everything
+     * @param memo the memo to record the matching syntax in, if any
+     */
+    private static Optional<? extends Expression<Boolean>> parseBooleanExpression(String s, int conditional, ParserState parserState, SkriptLogger logger,
+                                                                                  @Nullable ExpressionInfo<?, ?> known, @Nullable ExpressionMemo memo) {
         if (s.equalsIgnoreCase("true")) {
             return Optional.of(new SimpleLiteral<>(Boolean.class, true));
         } else if (s.equalsIgnoreCase("false")) {
@@ -231,7 +312,10 @@ public class SyntaxParser {
                 return variable;
             }
         }
-        for (var info : recentExpressions.mergeWith(SyntaxManager.getAllExpressions())) {
+        Iterable<ExpressionInfo<?, ?>> infos = known != null
+                ? List.of(known)
+                : recentExpressions.get().mergeWith(SyntaxManager.getExpressionCandidates(s));
+        for (var info : infos) {
             if (info.getReturnType().getType().getTypeClass() != Boolean.class)
                 continue;
             var expr = (Optional<? extends Expression<Boolean>>) matchExpressionInfo(s, info, BOOLEAN_PATTERN_TYPE, parserState, logger);
@@ -249,7 +333,7 @@ public class SyntaxParser {
                         break;
                     case MAYBE_CONDITIONAL: // Can be conditional
                         if (ConditionalExpression.class.isAssignableFrom(expr.get().getClass())) {
-                            recentConditions.acknowledge((ExpressionInfo<? extends ConditionalExpression, ? extends Boolean>) info);
+                            recentConditions.get().acknowledge((ExpressionInfo<? extends ConditionalExpression, ? extends Boolean>) info);
                         }
                     case CONDITIONAL: // Has to be conditional
                         if (!ConditionalExpression.class.isAssignableFrom(expr.get().getClass())) {
@@ -263,8 +347,10 @@ public class SyntaxParser {
                     default: // You just want me dead, don't you ?
                         break;
                 }
-                recentExpressions.acknowledge(info);
+                recentExpressions.get().acknowledge(info);
                 logger.clearErrors();
+                if (memo != null)
+                    memo.put(s, conditional, ExpressionMemo.Result.matched(info));
                 return expr;
             }
             logger.forgetError();
@@ -296,7 +382,7 @@ public class SyntaxParser {
         var value = parseContext.getMatches().get(0).group();
 
         for (Class<? extends TriggerContext> ctx : parseContext.getParserState().getCurrentContexts()) {
-            for (var info : recentContextValues.mergeWith(ContextValues.getContextValues(ctx))) {
+            for (var info : recentContextValues.get().mergeWith(ContextValues.getContextValues(ctx))) {
                 matchContext = new MatchContext(info.getPattern(), parserState, logger);
 
                 // Checking all conditions, so no false results slip through.
@@ -333,13 +419,26 @@ public class SyntaxParser {
                     return Optional.empty();
                 }
 
-                recentContextValues.acknowledge(info);
+                recentContextValues.get().acknowledge(info);
                 return Optional.of(new ContextExpression<>((ContextValue<?, T>) info, value, alone));
             }
         }
         return Optional.empty();
     }
 
+    /**
+     * Matches a syntax that previously matched the given string. If it doesn't match anymore, for example because
+     * the enclosing section forbids it, nothing is returned and the caller should try everything else.
+     */
+    private static <T> Optional<? extends Expression<? extends T>> matchKnownExpression(String s, ExpressionInfo<?, ?> info, PatternType<T> expectedType, ParserState parserState, SkriptLogger logger) {
+        var expr = matchExpressionInfo(s, info, expectedType, parserState, logger);
+        if (expr.isEmpty() || parserState.isRestrictingExpressions() && parserState.forbidsSyntax(expr.get().getClass()))
+            return Optional.empty();
+        recentExpressions.get().acknowledge(info);
+        logger.clearErrors();
+        return expr;
+    }
+
     private static <T> Optional<? extends Expression<? extends T>> matchExpressionInfo(String s, ExpressionInfo<?, ?> info, PatternType<T> expectedType, ParserState parserState, SkriptLogger logger) {
         var patterns = info.getPatterns();
         var infoType = info.getReturnType();
@@ -356,9 +455,10 @@ public class SyntaxParser {
                     var expression = (Expression<? extends T>) info.getSyntaxClass()
                             .getDeclaredConstructor()
                             .newInstance();
+                    var subExpressions = parser.getParsedExpressions().toArray(new Expression[0]);
                     logger.setContext(ErrorContext.INITIALIZATION);
                     if (!expression.init(
-                            parser.getParsedExpressions().toArray(new Expression[0]),
+                            subExpressions,
                             i,
                             parser.toParseResult()
                     )) {
@@ -399,6 +499,9 @@ public class SyntaxParser {
                         );
                         continue;
                     }
+                    var folded = FoldedLiteral.fold(expression, subExpressions);
+                    if (folded.isPresent())
+                        return folded;
                     return Optional.of(expression);
                 } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
                     logger.error("Couldn't instantiate class '" + info.getSyntaxClass().getName() + "'", ErrorType.EXCEPTION);
@@ -560,8 +663,22 @@ public class SyntaxParser {
     public static Optional<? extends Effect> parseEffect(String s, ParserState parserState, SkriptLogger logger) {
         if (s.isEmpty())
             return Optional.empty();
+        return ExpressionMemo.withMemo(() -> parseEffectLine(s, parserState, logger));
+    }
+
+    private static Optional<? extends Effect> parseEffectLine(String s, ParserState parserState, SkriptLogger logger) {
+        var cached = ParseCache.get(ParseCache.EFFECT, s, SyntaxManager.getEffects());
+        if (cached.isPresent()) {
+            var eff = matchEffectInfo(s, cached.get(), parserState, logger);
+            if (eff.isPresent() && !parserState.forbidsSyntax(eff.get().getClass())) {
+                recentEffects.get().acknowledge(cached.get());
+                logger.clearErrors();
+                return eff;
+            }
+            logger.forgetError();
+        }
 
-        for (var recentEffect : recentEffects.mergeWith(SyntaxManager.getEffects())) {
+        for (var recentEffect : recentEffects.get().mergeWith(SyntaxManager.getEffectCandidates(s))) {
             var eff = matchEffectInfo(s, recentEffect, parserState, logger);
             if (eff.isPresent()) {
                 if (parserState.forbidsSyntax(eff.get().getClass())) {
@@ -569,7 +686,8 @@ public class SyntaxParser {
                     logger.error("The enclosing section does not allow the use of this effect: " + eff.get().toString(TriggerContext.DUMMY, logger.isDebug()), ErrorType.SEMANTIC_ERROR);
                     return Optional.empty();
                 }
-                recentEffects.acknowledge(recentEffect);
+                recentEffects.get().acknowledge(recentEffect);
+                ParseCache.put(ParseCache.EFFECT, s, recentEffect);
                 logger.clearErrors();
                 return eff;
             }
@@ -621,8 +739,22 @@ public class SyntaxParser {
         var content = section.getLineContent();
         if (content.isEmpty())
             return Optional.empty();
+        return ExpressionMemo.withMemo(() -> parseSectionLine(section, content, parserState, logger));
+    }
+
+    private static Optional<? extends CodeSection> parseSectionLine(FileSection section, String content, ParserState parserState, SkriptLogger logger) {
+        var cached = ParseCache.get(ParseCache.SECTION, content, SyntaxManager.getSections());
+        if (cached.isPresent()) {
+            var sec = matchSectionInfo(section, cached.get(), parserState, logger);
+            if (sec.isPresent() && !parserState.forbidsSyntax(sec.get().getClass())) {
+                recentSections.get().acknowledge(cached.get());
+                logger.clearErrors();
+                return sec;
+            }
+            logger.forgetError();
+        }
 
-        for (var toParse : recentSections.mergeWith(SyntaxManager.getSections())) {
+        for (var toParse : recentSections.get().mergeWith(SyntaxManager.getSectionCandidates(content))) {
             var sec = matchSectionInfo(section, toParse, parserState, logger);
             if (sec.isPresent()) {
                 if (parserState.forbidsSyntax(sec.get().getClass())) {
@@ -630,7 +762,8 @@ public class SyntaxParser {
                     logger.error("The enclosing section does not allow the use of this section: " + sec.get().toString(TriggerContext.DUMMY, logger.isDebug()), ErrorType.SEMANTIC_ERROR);
                     return Optional.empty();
                 }
-                recentSections.acknowledge(toParse);
+                recentSections.get().acknowledge(toParse);
+                ParseCache.put(ParseCache.SECTION, content, toParse);
                 logger.clearErrors();
                 return sec;
             }
@@ -683,10 +816,27 @@ public class SyntaxParser {
     public static Optional<? extends UnloadedTrigger> parseTrigger(FileSection section, SkriptLogger logger) {
         if (section.getLineContent().isEmpty())
             return Optional.empty();
-        for (var info : recentEvents.mergeWith(SyntaxManager.getEvents())) {
+        return ExpressionMemo.withMemo(() -> parseTriggerLine(section, logger));
+    }
+
+    private static Optional<? extends UnloadedTrigger> parseTriggerLine(FileSection section, SkriptLogger logger) {
+        var content = section.getLineContent();
+        var cached = ParseCache.get(ParseCache.EVENT, content, SyntaxManager.getEvents());
+        if (cached.isPresent()) {
+            var trigger = matchEventInfo(section, cached.get(), logger);
+            if (trigger.isPresent()) {
+                recentEvents.get().acknowledge(cached.get());
+                logger.clearErrors();
+                return trigger;
+            }
+            logger.forgetError();
+        }
+
+        for (var info : recentEvents.get().mergeWith(SyntaxManager.getEventCandidates(content))) {
             var trigger = matchEventInfo(section, info, logger);
             if (trigger.isPresent()) {
-                recentEvents.acknowledge(info);
+                recentEvents.get().acknowledge(info);
+                ParseCache.put(ParseCache.EVENT, content, info);
                 logger.clearErrors();
                 return trigger;
             }
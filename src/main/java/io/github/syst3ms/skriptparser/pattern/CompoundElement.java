@@ -1,7 +1,9 @@
 package io.github.syst3ms.skriptparser.pattern;
 
 import io.github.syst3ms.skriptparser.parsing.MatchContext;
+import io.github.syst3ms.skriptparser.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -10,9 +12,22 @@ import java.util.List;
  */
 public class CompoundElement implements PatternElement {
     private final List<PatternElement> elements;
+    /*
+     * These never change once the pattern has been parsed, so they are computed once instead of on every match
+     */
+    private final String[] keywords;
+    private final List<List<PatternElement>> possibleInputs;
 
     public CompoundElement(List<PatternElement> elements) {
         this.elements = elements;
+        this.keywords = PatternElement.getKeywords(this).stream()
+                .filter(keyword -> !keyword.isEmpty())
+                .toArray(String[]::new);
+        List<List<PatternElement>> possibleInputs = new ArrayList<>(elements.size() + 1);
+        for (var i = 0; i <= elements.size(); i++) {
+            possibleInputs.add(List.copyOf(PatternElement.getPossibleInputs(elements.subList(i, elements.size()))));
+        }
+        this.possibleInputs = possibleInputs;
     }
 
     /**
@@ -26,6 +41,15 @@ public class CompoundElement implements PatternElement {
         return elements;
     }
 
+    /**
+     * @param index the index of an element of this compound element
+     * @return the possible inputs after the element at the given index
+     * @see PatternElement#getPossibleInputsAfter(PatternElement, int)
+     */
+    public List<PatternElement> getPossibleInputsAfter(int index) {
+        return index + 1 < possibleInputs.size() ? possibleInputs.get(index + 1) : PatternElement.END_OF_LINE;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -41,9 +65,8 @@ public class CompoundElement implements PatternElement {
     @Override
     public int match(String s, int index, MatchContext context) {
         // Keywords - makes matching remarkably faster in almost all cases
-        var toCheck = s.substring(index).toLowerCase();
-        for (var keyword : PatternElement.getKeywords(this)) {
-            if (!toCheck.contains(keyword))
+        for (var keyword : keywords) {
+            if (StringUtils.indexOfIgnoreCase(s, keyword, index) == -1)
                 return -1;
         }
 
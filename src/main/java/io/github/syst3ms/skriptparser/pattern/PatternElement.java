@@ -11,6 +11,10 @@ import java.util.stream.Collectors;
  * The superclass of all elements of a pattern.
  */
 public interface PatternElement {
+    /**
+     * The only possible input at the end of a pattern
+     */
+    List<PatternElement> END_OF_LINE = List.of(new TextElement("\0"));
 
     /**
      * Attempts to match the {@link PatternElement} to a string at a specified index.
@@ -30,6 +34,34 @@ public interface PatternElement {
         }
     }
 
+    /**
+     * @param element the element
+     * @return the size of the {@linkplain #flatten(PatternElement) flattened} element
+     */
+    static int flattenedSize(PatternElement element) {
+        if (element instanceof CompoundElement) {
+            return ((CompoundElement) element).getElements().size();
+        } else {
+            return 1;
+        }
+    }
+
+    /**
+     * Retrieves what could possibly come after the element at the given index of the
+     * {@linkplain #flatten(PatternElement) flattened} element. Unlike {@link #getPossibleInputs(List)}, this is
+     * computed only once, when the pattern is parsed, so that matching doesn't need to compute it again.
+     * @param element the element
+     * @param index the index inside of the flattened element
+     * @return the possible inputs after the given index
+     */
+    static List<PatternElement> getPossibleInputsAfter(PatternElement element, int index) {
+        if (element instanceof CompoundElement) {
+            return ((CompoundElement) element).getPossibleInputsAfter(index);
+        } else {
+            return END_OF_LINE;
+        }
+    }
+
     /**
      * This method should return all text components that will always be present,
      * no matter how the pattern is used.
@@ -34,14 +34,14 @@ public class RegexGroup implements PatternElement {
     @Override
     public int match(String s, int index, MatchContext context) {
         var source = context.getSource();
-        var flattened = PatternElement.flatten(context.getOriginalElement());
+        var owner = context.getOriginalElement();
         var possibilityIndex = context.getPatternIndex();
-        while (source.isPresent() && possibilityIndex + 1 >= flattened.size()) {
-            flattened = PatternElement.flatten(source.get().getOriginalElement());
+        while (source.isPresent() && possibilityIndex + 1 >= PatternElement.flattenedSize(owner)) {
+            owner = source.get().getOriginalElement();
             possibilityIndex = source.get().getPatternIndex();
             source = source.get().getSource();
         }
-        var possibleInputs = PatternElement.getPossibleInputs(flattened.subList(possibilityIndex + 1, flattened.size()));
+        var possibleInputs = PatternElement.getPossibleInputsAfter(owner, possibilityIndex);
         for (var possibleInput : possibleInputs) {
             if (possibleInput instanceof TextElement) {
                 var text = ((TextElement) possibleInput).getText();
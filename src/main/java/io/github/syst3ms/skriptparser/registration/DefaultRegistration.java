@@ -13,13 +13,16 @@ import io.github.syst3ms.skriptparser.util.SkriptDate;
 import io.github.syst3ms.skriptparser.util.Time;
 import io.github.syst3ms.skriptparser.util.color.Color;
 import io.github.syst3ms.skriptparser.util.math.BigDecimalMath;
+import io.github.syst3ms.skriptparser.util.math.NumberMath;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.stream.IntStream;
 
@@ -71,38 +74,17 @@ public class DefaultRegistration {
                 .arithmetic(new Arithmetic<Number, Number>() {
                     @Override
                     public Number difference(Number first, Number second) {
-                        if (first instanceof BigDecimal || second instanceof BigDecimal) {
-                            var f = BigDecimalMath.getBigDecimal(first);
-                            var s = BigDecimalMath.getBigDecimal(second);
-                            return f.subtract(s).abs();
-                        } else {
-                            assert first instanceof BigInteger && second instanceof BigInteger;
-                            return ((BigInteger) first).subtract(((BigInteger) second)).abs();
-                        }
+                        return NumberMath.abs(NumberMath.subtract(first, second));
                     }
 
                     @Override
                     public Number add(Number value, Number difference) {
-                        if (value instanceof BigDecimal || difference instanceof BigDecimal) {
-                            var v = BigDecimalMath.getBigDecimal(value);
-                            var d = BigDecimalMath.getBigDecimal(difference);
-                            return v.add(d);
-                        } else {
-                            assert value instanceof BigInteger && difference instanceof BigInteger;
-                            return ((BigInteger) value).add(((BigInteger) difference));
-                        }
+                        return NumberMath.add(value, difference);
                     }
 
                     @Override
                     public Number subtract(Number value, Number difference) {
-                        if (value instanceof BigDecimal || difference instanceof BigDecimal) {
-                            var v = BigDecimalMath.getBigDecimal(value);
-                            var d = BigDecimalMath.getBigDecimal(difference);
-                            return v.subtract(d);
-                        } else {
-                            assert value instanceof BigInteger && difference instanceof BigInteger;
-                            return ((BigInteger) value).subtract(((BigInteger) difference));
-                        }
+                        return NumberMath.subtract(value, difference);
                     }
 
                     @Override
@@ -256,13 +238,12 @@ public class DefaultRegistration {
                 new Comparator<>(true) {
                     @Override
                     public Relation apply(Number number, Number number2) {
-                        if (number instanceof BigDecimal || number2 instanceof BigDecimal) {
+                        if (NumberMath.isIntegral(number) && NumberMath.isIntegral(number2)) {
+                            return Relation.get(NumberMath.compare(number, number2));
+                        } else {
                             BigDecimal bd = BigDecimalMath.getBigDecimal(number).setScale(10, RoundingMode.HALF_UP);
                             BigDecimal bd2 = BigDecimalMath.getBigDecimal(number2).setScale(10, RoundingMode.HALF_UP);
                             return Relation.get(bd.compareTo(bd2));
-                        } else {
-                            assert number instanceof BigInteger && number2 instanceof BigInteger;
-                            return Relation.get(((BigInteger) number).compareTo((BigInteger) number2));
                         }
                     }
                 }
@@ -297,7 +278,9 @@ public class DefaultRegistration {
                         } while (current.compareTo(r) <= 0);
                         return elements.toArray(new BigInteger[0]);
                     }
-                }
+                },
+                DefaultRegistration::integerRange,
+                (l, r) -> l.equals(r) ? BigInteger.ZERO : l.subtract(r).abs().add(BigInteger.ONE)
         );
 
         // Actually a character range
@@ -329,4 +312,29 @@ public class DefaultRegistration {
 
         registration.register(true); // Ignoring logs here, we control the input
     }
-}
\ No newline at end of file
+
+    /**
+     * Lazily iterates over the integers between two endpoints, both inclusive, in the order they are given.
+     * Like the regular integer range, a range between two equal endpoints is empty.
+     */
+    private static Iterator<BigInteger> integerRange(BigInteger from, BigInteger to) {
+        var step = from.compareTo(to) > 0 ? BigInteger.ONE.negate() : BigInteger.ONE;
+        return new Iterator<>() {
+            private BigInteger next = from.equals(to) ? null : from;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public BigInteger next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                var current = next;
+                next = current.equals(to) ? null : current.add(step);
+                return current;
+            }
+        };
+    }
+}
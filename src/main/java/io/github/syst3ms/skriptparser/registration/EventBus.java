@@ -0,0 +1,145 @@
+package io.github.syst3ms.skriptparser.registration;
+
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.util.ScheduledTask;
+import io.github.syst3ms.skriptparser.util.ThreadUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dispatches {@linkplain TriggerContext contexts} to the loaded {@linkplain Trigger triggers} able to handle them.
+ * <br>
+ * Triggers are indexed by the contexts their event declared through
+ * {@link SkriptRegistration.EventRegistrar#setHandledContexts(Class[])}. A trigger handling some context class also
+ * handles all of its subclasses. Firing a context only runs the triggers handling it, which still
+ * {@linkplain io.github.syst3ms.skriptparser.lang.SkriptEvent#check(TriggerContext) check} it before running their code.
+ */
+public class EventBus {
+    private static final Map<Trigger, Set<Class<? extends TriggerContext>>> triggers = new LinkedHashMap<>();
+    // The triggers handling each concrete context class, computed on demand and cleared whenever the triggers change
+    private static volatile Map<Class<?>, Trigger[]> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a trigger, so that it is run whenever one of the given contexts is fired.
+     * @param trigger the trigger
+     * @param contexts the contexts the trigger handles
+     */
+    public static synchronized void register(Trigger trigger, Set<Class<? extends TriggerContext>> contexts) {
+        triggers.put(trigger, Set.copyOf(contexts));
+        resolved = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Unregisters a trigger, so that it isn't run anymore when contexts are fired.
+     * @param trigger the trigger
+     * @return whether the trigger was registered
+     */
+    public static synchronized boolean unregister(Trigger trigger) {
+        if (triggers.remove(trigger) == null)
+            return false;
+        resolved = new ConcurrentHashMap<>();
+        return true;
+    }
+
+    /**
+     * Unregisters some triggers and registers others in their place at once, so that firing a context never runs both
+     * an old trigger and the trigger replacing it, or neither of them.
+     * @param removed the triggers to unregister
+     * @param added the triggers to register, along with the contexts they handle
+     */
+    public static synchronized void replace(Collection<Trigger> removed, Map<Trigger, Set<Class<? extends TriggerContext>>> added) {
+        for (var trigger : removed)
+            triggers.remove(trigger);
+        for (var entry : added.entrySet())
+            triggers.put(entry.getKey(), Set.copyOf(entry.getValue()));
+        resolved = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param context the class of a context
+     * @return all the triggers handling the given context, in the order they were registered in
+     */
+    public static List<Trigger> getTriggers(Class<? extends TriggerContext> context) {
+        return List.of(resolve(context));
+    }
+
+    /**
+     * Runs all the triggers handling the given context, one after the other, on the current thread.
+     * @param ctx the context
+     * @return the amount of triggers handling the context
+     */
+    public static int fire(TriggerContext ctx) {
+        var handling = resolve(ctx.getClass());
+        for (var trigger : handling)
+            Statement.runAll(trigger, ctx);
+        return handling.length;
+    }
+
+    /**
+     * Fires all the given contexts in order, one after the other, on the current thread. This is faster than firing
+     * them one by one when consecutive contexts are of the same class.
+     * @param contexts the contexts
+     * @return the total amount of triggers that were run
+     */
+    public static int fireAll(Collection<? extends TriggerContext> contexts) {
+        var count = 0;
+        Class<?> last = null;
+        Trigger[] handling = null;
+        for (var ctx : contexts) {
+            if (ctx.getClass() != last) {
+                last = ctx.getClass();
+                handling = resolve(last);
+            }
+            for (var trigger : handling)
+                Statement.runAll(trigger, ctx);
+            count += handling.length;
+        }
+        return count;
+    }
+
+    /**
+     * Runs all the triggers handling the given context asynchronously, each as a separate task. This should only be
+     * used if these triggers don't depend on each other running in a specific order.
+     * @param ctx the context
+     * @return the tasks running the triggers
+     * @see ThreadUtils#runAsync(Runnable, Object)
+     */
+    public static List<ScheduledTask> fireParallel(TriggerContext ctx) {
+        var handling = resolve(ctx.getClass());
+        List<ScheduledTask> tasks = new ArrayList<>(handling.length);
+        for (var trigger : handling)
+            tasks.add(ThreadUtils.runAsync(() -> Statement.runAll(trigger, ctx), trigger));
+        return tasks;
+    }
+
+    private static Trigger[] resolve(Class<?> context) {
+        var cache = resolved;
+        var handling = cache.get(context);
+        if (handling == null) {
+            handling = compute(context);
+            cache.put(context, handling);
+        }
+        return handling;
+    }
+
+    private static synchronized Trigger[] compute(Class<?> context) {
+        List<Trigger> handling = new ArrayList<>();
+        for (var entry : triggers.entrySet()) {
+            for (var handled : entry.getValue()) {
+                if (handled.isAssignableFrom(context)) {
+                    handling.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return handling.toArray(new Trigger[0]);
+    }
+}
@@ -6,14 +6,16 @@ import io.github.syst3ms.skriptparser.lang.Trigger;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The base for all addons, modules that hook into the API to register syntax and handle triggers.
  */
 public abstract class SkriptAddon {
 
-    private final List<Class<? extends SkriptEvent>> handledEvents = new ArrayList<>();
+    private final Set<Class<? extends SkriptEvent>> handledEvents = new HashSet<>();
     private static final List<SkriptAddon> ADDONS = new ArrayList<>();
 
     {
@@ -37,6 +39,13 @@ public abstract class SkriptAddon {
      */
     public abstract void handleTrigger(Trigger trigger);
 
+    /**
+     * Is called when a {@linkplain Trigger} that was handed to {@link #handleTrigger(Trigger)} is unloaded, for example
+     * because its script was reloaded. All the tasks it scheduled have already been cancelled. Optionally overridable.
+     * @param trigger the trigger that is unloaded
+     */
+    public void unhandleTrigger(Trigger trigger) {}
+
     /**
      * Is called when a script has finished loading. Optionally overridable.
      */
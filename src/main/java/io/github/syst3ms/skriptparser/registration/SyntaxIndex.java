@@ -0,0 +1,137 @@
+package io.github.syst3ms.skriptparser.registration;
+
+import io.github.syst3ms.skriptparser.pattern.ChoiceGroup;
+import io.github.syst3ms.skriptparser.pattern.CompoundElement;
+import io.github.syst3ms.skriptparser.pattern.OptionalGroup;
+import io.github.syst3ms.skriptparser.pattern.PatternElement;
+import io.github.syst3ms.skriptparser.pattern.TextElement;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index over a list of {@link SyntaxInfo}s, mapping the literal words a pattern can possibly start with to the
+ * syntaxes owning that pattern. This allows the parser to only try the syntaxes that have a chance of matching a given
+ * string, instead of every single registered syntax.
+ *
+ * Patterns that may start with an expression or a regex group, or that could match an empty string, can't be indexed
+ * this way and are always returned as candidates.
+ * @param <T> the type of {@link SyntaxInfo}
+ */
+public class SyntaxIndex<T extends SyntaxInfo<?>> {
+    private final List<T> infos;
+    private final Map<String, BitSet> leadingWords = new HashMap<>();
+    private final BitSet unindexed = new BitSet();
+    private int longestWord = 0;
+
+    /**
+     * Builds the index.
+     * @param infos the syntaxes to index, in the order they should be tried during parsing
+     */
+    public SyntaxIndex(List<T> infos) {
+        this.infos = List.copyOf(infos);
+        for (var i = 0; i < this.infos.size(); i++) {
+            for (var pattern : this.infos.get(i).getPatterns()) {
+                var words = new HashSet<String>();
+                if (collectLeadingWords(pattern, words) || words.contains(null)) {
+                    unindexed.set(i);
+                    continue;
+                }
+                for (var word : words) {
+                    leadingWords.computeIfAbsent(word, __ -> new BitSet()).set(i);
+                    longestWord = Math.max(longestWord, word.length());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return all indexed syntaxes, in their original order
+     */
+    public List<T> getAll() {
+        return infos;
+    }
+
+    /**
+     * Retrieves all the syntaxes that could possibly match the given string, keeping their original order.
+     * The returned list is a new list and can be freely modified.
+     * @param s the string that is going to be parsed
+     * @return the candidate syntaxes
+     */
+    public List<T> getCandidates(String s) {
+        var candidates = (BitSet) unindexed.clone();
+        var start = 0;
+        while (start < s.length() && Character.isWhitespace(s.charAt(start)))
+            start++;
+        var word = new StringBuilder();
+        for (var i = start; i < s.length() && word.length() < longestWord; i++) {
+            var c = s.charAt(i);
+            if (Character.isWhitespace(c))
+                break;
+            word.append(normalize(c));
+            var matching = leadingWords.get(word.toString());
+            if (matching != null)
+                candidates.or(matching);
+        }
+        List<T> result = new ArrayList<>(candidates.cardinality());
+        for (var i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            result.add(infos.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Collects the literal words the given element can possibly start with. Only the leading part of a word is
+     * collected when a word is made of multiple consecutive elements, which means any string starting with that
+     * word might match. If the element could start with something that isn't a literal, {@literal null} is added to
+     * the set of words.
+     * @param element the element
+     * @param words the set of words to add to
+     * @return whether the element can match an empty string
+     */
+    private static boolean collectLeadingWords(PatternElement element, Set<String> words) {
+        if (element instanceof TextElement) {
+            var text = ((TextElement) element).getText().strip();
+            if (text.isEmpty())
+                return true;
+            var word = new StringBuilder();
+            for (var i = 0; i < text.length() && !Character.isWhitespace(text.charAt(i)); i++) {
+                word.append(normalize(text.charAt(i)));
+            }
+            words.add(word.toString());
+            return false;
+        } else if (element instanceof OptionalGroup) {
+            collectLeadingWords(((OptionalGroup) element).getElement(), words);
+            return true;
+        } else if (element instanceof ChoiceGroup) {
+            var nullable = false;
+            for (var choice : ((ChoiceGroup) element).getChoices()) {
+                nullable |= collectLeadingWords(choice.getElement(), words);
+            }
+            return nullable;
+        } else if (element instanceof CompoundElement) {
+            for (var e : ((CompoundElement) element).getElements()) {
+                if (!collectLeadingWords(e, words))
+                    return false;
+            }
+            return true;
+        } else {
+            // Expressions, regex groups and any custom element
+            words.add(null);
+            return false;
+        }
+    }
+
+    /**
+     * Normalizes a character the same way {@link String#regionMatches(boolean, int, String, int, int)} does when
+     * ignoring case, which is what {@link TextElement} uses.
+     */
+    private static char normalize(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
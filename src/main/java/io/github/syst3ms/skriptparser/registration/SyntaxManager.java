@@ -6,8 +6,11 @@ import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.util.MultiMap;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class SyntaxManager {
@@ -22,9 +25,16 @@ public class SyntaxManager {
         }
     };
     private static final MultiMap<Class<?>, ExpressionInfo<?, ?>> expressions = new MultiMap<>();
+    // Snapshots of the registered expressions, rebuilt on every registration
+    private static List<ExpressionInfo<?, ?>> allExpressions = List.of();
+    private static Map<Class<?>, ExpressionInfo<?, ?>> expressionsByClass = Map.of();
     private static final List<SyntaxInfo<? extends Effect>> effects = new ArrayList<>();
     private static final List<SyntaxInfo<? extends CodeSection>> sections = new ArrayList<>();
     private static final List<SkriptEventInfo<?>> triggers = new ArrayList<>();
+    private static SyntaxIndex<ExpressionInfo<?, ?>> expressionIndex = new SyntaxIndex<>(List.of());
+    private static SyntaxIndex<SyntaxInfo<? extends Effect>> effectIndex = new SyntaxIndex<>(List.of());
+    private static SyntaxIndex<SyntaxInfo<? extends CodeSection>> sectionIndex = new SyntaxIndex<>(List.of());
+    private static SyntaxIndex<SkriptEventInfo<?>> eventIndex = new SyntaxIndex<>(List.of());
 
     static void register(SkriptRegistration reg) {
         effects.addAll(reg.getEffects());
@@ -40,15 +50,33 @@ public class SyntaxManager {
                 expressions.putOne(key, info);
             }
         }
+        var sorted = expressions.getAllValues();
+        sorted.sort(INFO_COMPARATOR);
+        Map<Class<?>, ExpressionInfo<?, ?>> byClass = new IdentityHashMap<>();
+        for (var info : sorted)
+            byClass.putIfAbsent(info.getSyntaxClass(), info);
+        allExpressions = Collections.unmodifiableList(sorted);
+        expressionsByClass = Collections.unmodifiableMap(byClass);
+        expressionIndex = new SyntaxIndex<>(allExpressions);
+        effectIndex = new SyntaxIndex<>(effects);
+        sectionIndex = new SyntaxIndex<>(sections);
+        eventIndex = new SyntaxIndex<>(triggers);
     }
 
     /**
-     * @return a list of all currently registered expressions
+     * @return an unmodifiable list of all currently registered expressions, in the order they should be tested in
      */
     public static List<ExpressionInfo<?, ?>> getAllExpressions() {
-        var expressionInfos = expressions.getAllValues();
-        expressionInfos.sort(INFO_COMPARATOR);
-        return expressionInfos;
+        return allExpressions;
+    }
+
+    /**
+     * @param s the string that is going to be parsed
+     * @return the registered expressions that could possibly match the given string
+     * @see SyntaxIndex
+     */
+    public static List<ExpressionInfo<?, ?>> getExpressionCandidates(String s) {
+        return expressionIndex.getCandidates(s);
     }
 
     /**
@@ -59,13 +87,7 @@ public class SyntaxManager {
      */
     @SuppressWarnings("unchecked")
     public static <E extends Expression<T>, T> Optional<? extends ExpressionInfo<E, T>> getExpressionExact(Expression<T> expr) {
-        Class<?> c = expr.getSource().getClass();
-        for (var info : SyntaxManager.getAllExpressions()) {
-            if (info.getSyntaxClass() == c) {
-                return Optional.of((ExpressionInfo<E, T>) info);
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable((ExpressionInfo<E, T>) expressionsByClass.get(expr.getSource().getClass()));
     }
 
     /**
@@ -75,6 +97,15 @@ public class SyntaxManager {
         return sections;
     }
 
+    /**
+     * @param s the string that is going to be parsed
+     * @return the registered sections that could possibly match the given string
+     * @see SyntaxIndex
+     */
+    public static List<SyntaxInfo<? extends CodeSection>> getSectionCandidates(String s) {
+        return sectionIndex.getCandidates(s);
+    }
+
     /**
      * @return a list of all currently registered effects
      */
@@ -82,10 +113,28 @@ public class SyntaxManager {
         return effects;
     }
 
+    /**
+     * @param s the string that is going to be parsed
+     * @return the registered effects that could possibly match the given string
+     * @see SyntaxIndex
+     */
+    public static List<SyntaxInfo<? extends Effect>> getEffectCandidates(String s) {
+        return effectIndex.getCandidates(s);
+    }
+
     /**
      * @return a list of all currently registered events
      */
     public static List<SkriptEventInfo<?>> getEvents() {
         return triggers;
     }
+
+    /**
+     * @param s the string that is going to be parsed
+     * @return the registered events that could possibly match the given string
+     * @see SyntaxIndex
+     */
+    public static List<SkriptEventInfo<?>> getEventCandidates(String s) {
+        return eventIndex.getCandidates(s);
+    }
 }
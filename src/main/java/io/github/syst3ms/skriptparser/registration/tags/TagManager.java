@@ -21,7 +21,7 @@ public class TagManager {
     /**
      * All {@link Tag tags} that are successfully parsed during parsing, in order of last successful parsing
      */
-    private static final RecentElementList<TagInfo<?>> recentTags = new RecentElementList<>();
+    private static final ThreadLocal<RecentElementList<TagInfo<?>>> recentTags = ThreadLocal.withInitial(RecentElementList::new);
     private static final List<TagInfo<?>> tags = new ArrayList<>();
 
 
@@ -50,22 +50,11 @@ public class TagManager {
                 || Character.isWhitespace(toParse.charAt(toParse.length() - 1)))
             return Optional.empty();
 
-        for (var recentTag : recentTags) {
-            var tag = matchTagInfo(toParse, recentTag, logger);
+        var recent = recentTags.get();
+        for (var info : recent.mergeWith(tags)) {
+            var tag = matchTagInfo(toParse, info, logger);
             if (tag.isPresent()) {
-                recentTags.acknowledge(recentTag);
-                logger.clearErrors();
-                return tag;
-            }
-            logger.forgetError();
-        }
-        // Let's not loop over the same elements again
-        var remainingTags = tags;
-        recentTags.removeFrom(remainingTags);
-        for (var remainingTag : remainingTags) {
-            var tag = matchTagInfo(toParse, remainingTag, logger);
-            if (tag.isPresent()) {
-                recentTags.acknowledge(remainingTag);
+                recent.acknowledge(info);
                 logger.clearErrors();
                 return tag;
             }
@@ -51,6 +51,8 @@ public class SecCase extends CodeSection {
             return false;
         }
         switchSection = (SecSwitch) latest;
+        // The last case isn't given a next statement, but it must go back to the switch as well
+        next = switchSection;
 
         isMatching = matchedPattern == 0;
         if (isMatching) {
@@ -98,6 +100,7 @@ public class SecCase extends CodeSection {
                     .map(val -> (Statement) val)
                     .or(() -> Optional.of(switchSection));
         } else {
+            switchSection.setDone(true);
             return getFirst();
         }
     }
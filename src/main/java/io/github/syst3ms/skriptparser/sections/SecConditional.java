@@ -5,6 +5,9 @@ import io.github.syst3ms.skriptparser.lang.CodeSection;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.lang.control.Compilable;
+import io.github.syst3ms.skriptparser.lang.control.CompiledCode;
+import io.github.syst3ms.skriptparser.lang.control.Instruction;
 import io.github.syst3ms.skriptparser.log.ErrorType;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
@@ -27,7 +30,7 @@ import java.util.function.Predicate;
  * @since ALPHA
  * @author Mwexim, Syst3ms
  */
-public class SecConditional extends CodeSection {
+public class SecConditional extends CodeSection implements Compilable {
     static {
         Parser.getMainRegistration().addSection(
                 SecConditional.class,
@@ -82,6 +85,16 @@ public class SecConditional extends CodeSection {
         }
     }
 
+    @Override
+    public Instruction compile(CompiledCode code) {
+        int body = code.indexOf(getFirst());
+        if (mode == ConditionalMode.ELSE)
+            return ctx -> body;
+        assert condition != null;
+        int otherwise = fallingClause != null ? code.indexOf(fallingClause) : code.indexOf(getNext());
+        return ctx -> Boolean.TRUE.equals(condition.getSingleOrNull(ctx)) ? body : otherwise;
+    }
+
     @Override
     public Statement setNext(@Nullable Statement next) {
         while (next instanceof SecConditional && ((SecConditional) next).mode != ConditionalMode.IF) {
@@ -6,6 +6,7 @@ import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.Variable;
+import io.github.syst3ms.skriptparser.lang.control.IterationState;
 import io.github.syst3ms.skriptparser.lang.control.SelfReferencing;
 import io.github.syst3ms.skriptparser.lang.lambda.ReturnSection;
 import io.github.syst3ms.skriptparser.log.ErrorType;
@@ -16,9 +17,6 @@ import io.github.syst3ms.skriptparser.types.changers.ChangeMode;
 import io.github.syst3ms.skriptparser.util.Pair;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -44,9 +42,6 @@ public class SecFilter extends ReturnSection<Boolean> implements SelfReferencing
 
     @Nullable
     private Statement actualNext;
-    @Nullable
-    private Iterator<?> iterator;
-    private final List<Object> result = new ArrayList<>();
 
     @Override
     public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
@@ -76,11 +71,11 @@ public class SecFilter extends ReturnSection<Boolean> implements SelfReferencing
     @Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
         boolean isVariable = filtered instanceof Variable<?>;
-        if (iterator == null)
-            iterator = isVariable
-                    ? ((Variable<?>) filtered).variablesIterator(ctx)
-                    : filtered.iterator(ctx);
-
+        var state = IterationState.start(this, () -> isVariable
+                ? ((Variable<?>) filtered).variablesIterator(ctx)
+                : filtered.iterator(ctx));
+                
+        var iterator = state.getIterator();
         if (iterator.hasNext()) {
             setArguments(isVariable
                     ? ((Pair<String, Object>) iterator.next()).getSecond()
@@ -88,13 +83,14 @@ public class SecFilter extends ReturnSection<Boolean> implements SelfReferencing
             );
             return start();
         } else {
+            var result = state.getResults();
             if (result.size() == 0) {
                 filtered.change(ctx, ChangeMode.DELETE, new Object[0]);
             } else {
                 filtered.change(ctx, ChangeMode.SET, result.toArray());
             }
             finish();
-            return Optional.ofNullable(actualNext);
+            return getActualNext();
         }
     }
 
@@ -102,6 +98,7 @@ public class SecFilter extends ReturnSection<Boolean> implements SelfReferencing
     public void step(Statement item) {
         if (getReturned().map(val -> val[0]).orElse(false)) {
             assert getArguments().length == 1;
+            var result = IterationState.get(this).orElseThrow().getResults();
             result.add(getArguments()[0]); // We add the filtered argument to the result
         }
     }
@@ -109,8 +106,7 @@ public class SecFilter extends ReturnSection<Boolean> implements SelfReferencing
     @Override
     public void finish() {
         // Cache clearing
-        iterator = null;
-        result.clear();
+        IterationState.clear(this);
     }
 
     @Override
@@ -131,7 +127,7 @@ public class SecFilter extends ReturnSection<Boolean> implements SelfReferencing
 
     @Override
     public Optional<Statement> getActualNext() {
-        return Optional.ofNullable(actualNext);
+        return Optional.ofNullable(actualNext).or(() -> getParent().flatMap(Statement::getNext));
     }
 
     @Override
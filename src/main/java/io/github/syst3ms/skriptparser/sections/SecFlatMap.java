@@ -6,6 +6,7 @@ import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.Variable;
+import io.github.syst3ms.skriptparser.lang.control.IterationState;
 import io.github.syst3ms.skriptparser.lang.control.SelfReferencing;
 import io.github.syst3ms.skriptparser.lang.lambda.ReturnSection;
 import io.github.syst3ms.skriptparser.log.ErrorType;
@@ -16,10 +17,7 @@ import io.github.syst3ms.skriptparser.types.changers.ChangeMode;
 import io.github.syst3ms.skriptparser.util.Pair;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -48,9 +46,6 @@ public class SecFlatMap extends ReturnSection<Object> implements SelfReferencing
 
 	@Nullable
 	private Statement actualNext;
-	@Nullable
-	private Iterator<?> iterator;
-	private final List<Object> result = new ArrayList<>();
 
 	@Override
 	public boolean loadSection(FileSection section, ParserState parserState, SkriptLogger logger) {
@@ -80,11 +75,11 @@ public class SecFlatMap extends ReturnSection<Object> implements SelfReferencing
 	@Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
 		boolean isVariable = flatMapped instanceof Variable<?>;
-		if (iterator == null)
-			iterator = isVariable
-					? ((Variable<?>) flatMapped).variablesIterator(ctx)
-					: flatMapped.iterator(ctx);
-
+		var state = IterationState.start(this, () -> isVariable
+				? ((Variable<?>) flatMapped).variablesIterator(ctx)
+				: flatMapped.iterator(ctx));
+				
+		var iterator = state.getIterator();
 		if (iterator.hasNext()) {
 			setArguments(isVariable
 					? ((Pair<String, Object>) iterator.next()).getSecond()
@@ -92,13 +87,14 @@ public class SecFlatMap extends ReturnSection<Object> implements SelfReferencing
 			);
 			return start();
 		} else {
+			var result = state.getResults();
 			if (result.size() == 0) {
 				flatMapped.change(ctx, ChangeMode.DELETE, new Object[0]);
 			} else {
 				flatMapped.change(ctx, ChangeMode.SET, result.toArray());
 			}
 			finish();
-			return Optional.ofNullable(actualNext);
+			return getActualNext();
 		}
     }
 
@@ -106,6 +102,7 @@ public class SecFlatMap extends ReturnSection<Object> implements SelfReferencing
 	public void step(Statement item) {
 		assert getArguments().length == 1;
 		if (getReturned().isPresent()) {
+			var result = IterationState.get(this).orElseThrow().getResults();
 			result.addAll(Arrays.asList(getReturned().get())); // We add the filtered argument to the result
 		}
 	}
@@ -113,8 +110,7 @@ public class SecFlatMap extends ReturnSection<Object> implements SelfReferencing
 	@Override
 	public void finish() {
 		// Cache clearing
-		iterator = null;
-		result.clear();
+		IterationState.clear(this);
 	}
 
     @Override
@@ -135,7 +131,7 @@ public class SecFlatMap extends ReturnSection<Object> implements SelfReferencing
 
 	@Override
 	public Optional<Statement> getActualNext() {
-		return Optional.ofNullable(actualNext);
+		return Optional.ofNullable(actualNext).or(() -> getParent().flatMap(Statement::getNext));
 	}
 
 	@Override
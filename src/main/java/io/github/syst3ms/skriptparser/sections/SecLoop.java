@@ -4,11 +4,14 @@ import io.github.syst3ms.skriptparser.Parser;
 import io.github.syst3ms.skriptparser.file.FileSection;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Literal;
-import io.github.syst3ms.skriptparser.lang.SimpleLiteral;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.Variable;
+import io.github.syst3ms.skriptparser.lang.control.Compilable;
+import io.github.syst3ms.skriptparser.lang.control.CompiledCode;
 import io.github.syst3ms.skriptparser.lang.control.Continuable;
+import io.github.syst3ms.skriptparser.lang.control.Instruction;
+import io.github.syst3ms.skriptparser.lang.control.IterationState;
 import io.github.syst3ms.skriptparser.lang.control.SelfReferencing;
 import io.github.syst3ms.skriptparser.lang.lambda.ArgumentSection;
 import io.github.syst3ms.skriptparser.log.ErrorType;
@@ -19,6 +22,8 @@ import io.github.syst3ms.skriptparser.types.ranges.Ranges;
 import org.jetbrains.annotations.Nullable;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Optional;
 
@@ -34,7 +39,7 @@ import java.util.Optional;
  * @since ALPHA
  * @author Mwexim
  */
-public class SecLoop extends ArgumentSection implements Continuable, SelfReferencing {
+public class SecLoop extends ArgumentSection implements Continuable, SelfReferencing, Compilable {
 	static {
 		Parser.getMainRegistration().addSection(
 				SecLoop.class,
@@ -50,8 +55,6 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
 
 	@Nullable
 	private Statement actualNext;
-	@Nullable
-	private Iterator<?> iterator;
 
 	@Override
 	public boolean loadSection(FileSection section, ParserState parserState, SkriptLogger logger) {
@@ -65,6 +68,9 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
 		isNumericLoop = matchedPattern == 0;
 		if (isNumericLoop) {
 			times = (Expression<BigInteger>) expressions[0];
+			// The looped expression is a range from 1 to the amount of times.
+			// This allows the usage of 'loop-number' to get the current iteration
+			expression = new LoopRange(times);
 			// We can do some certainty checks with Literals.
 			if (times instanceof Literal<?>) {
 				var t = ((Optional<BigInteger>) ((Literal<BigInteger>) times).getSingle()).orElse(BigInteger.ONE);
@@ -96,23 +102,33 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
 
 	@Override
 	public Optional<? extends Statement> walk(TriggerContext ctx) {
-		if (isNumericLoop && expression == null) {
-			// We just set the looped expression to a range from 1 to the amount of times.
-			// This allows the usage of 'loop-number' to get the current iteration
-			expression = rangeOf(ctx, times);
-		}
+		return nextIteration(ctx) ? start() : Optional.ofNullable(actualNext);
+	}
 
-		if (iterator == null) {
-			assert expression != null;
-			iterator = expression instanceof Variable ? ((Variable<?>) expression).variablesIterator(ctx) : expression.iterator(ctx);
-		}
+	@Override
+	public Instruction compile(CompiledCode code) {
+		int body = code.indexOf(start());
+		int after = code.indexOf(getActualNext());
+		return ctx -> nextIteration(ctx) ? body : after;
+	}
 
+	/**
+	 * Moves on to the next looped value, or finishes the loop if there are none left.
+	 * @param ctx the context
+	 * @return whether the loop should run again
+	 */
+	private boolean nextIteration(TriggerContext ctx) {
+		assert expression != null;
+		var iterator = IterationState.start(this, () -> expression instanceof Variable
+				? ((Variable<?>) expression).variablesIterator(ctx)
+				: expression.iterator(ctx)
+		).getIterator();
 		if (iterator.hasNext()) {
 			setArguments(iterator.next());
-			return start();
+			return true;
 		} else {
 			finish();
-			return Optional.ofNullable(actualNext);
+			return false;
 		}
 	}
 
@@ -125,7 +141,7 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
 	@Override
 	public void finish() {
 		// Cache clearing
-		iterator = null;
+		IterationState.clear(this);
 	}
 
 	@Override
@@ -135,12 +151,11 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
 
 	@Override
 	public Optional<Statement> getActualNext() {
-		return Optional.ofNullable(actualNext);
+		return Optional.ofNullable(actualNext).or(() -> getParent().flatMap(Statement::getNext));
 	}
 
 	@Override
 	public String toString(TriggerContext ctx, boolean debug) {
-		assert expression != null;
 		return "loop " + (isNumericLoop ? times.toString(ctx, debug) + " times" : expression.toString(ctx, debug));
 	}
 
@@ -148,26 +163,60 @@ public class SecLoop extends ArgumentSection implements Continuable, SelfReferen
 	 * @return the expression whose values this loop is iterating over
 	 */
 	public Expression<?> getLoopedExpression() {
-		if (isNumericLoop && expression == null) {
-			expression = rangeOf(TriggerContext.DUMMY, times);
-		}
+		assert expression != null;
 		return expression;
 	}
 
 	/**
-	 * Returns a SimpleLiteral containing the numbers 1 up until a certain amount, specified
-	 * by the given expression.
-	 * @param ctx the context
-	 * @param size the expression
-	 * @return the SimpleLiteral
+	 * The numbers from 1 up until a certain amount, specified by the given expression.
+	 * The numbers are computed one at a time, so that looping a huge amount of times doesn't use any memory.
 	 */
-	private static Expression<BigInteger> rangeOf(TriggerContext ctx, Expression<BigInteger> size) {
-		BigInteger[] range = (BigInteger[]) size.getSingle(ctx)
-				.filter(t -> t.compareTo(BigInteger.ZERO) > 0)
-				.map(t -> Ranges.getRange(BigInteger.class).orElseThrow()
-						.getFunction()
-						.apply(BigInteger.ONE, t)) // Upper bound is inclusive
-				.orElse(new BigInteger[0]);
-		return new SimpleLiteral<>(BigInteger.class, range);
+	private static class LoopRange implements Expression<BigInteger> {
+		private final Expression<BigInteger> size;
+
+		LoopRange(Expression<BigInteger> size) {
+			this.size = size;
+		}
+
+		@Override
+		public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+			return true;
+		}
+
+		@Override
+		public BigInteger[] getValues(TriggerContext ctx) {
+			var values = new ArrayList<BigInteger>();
+			iterator(ctx).forEachRemaining(values::add);
+			return values.toArray(new BigInteger[0]);
+		}
+
+		@Override
+		public Iterator<BigInteger> iterator(TriggerContext ctx) {
+			var range = Ranges.<BigInteger, BigInteger>getRange(BigInteger.class).orElseThrow();
+			return size.getSingle(ctx)
+					.filter(t -> t.signum() > 0)
+					.flatMap(t -> range.getIteratorFunction().map(f -> f.apply(BigInteger.ONE, t))) // Upper bound is inclusive
+					.orElseGet(Collections::emptyIterator);
+		}
+
+		@Override
+		public boolean isSingle() {
+			return false;
+		}
+
+		@Override
+		public Class<? extends BigInteger> getReturnType() {
+			return BigInteger.class;
+		}
+
+		@Override
+		public boolean isLoopOf(String s) {
+			return false;
+		}
+
+		@Override
+		public String toString(TriggerContext ctx, boolean debug) {
+			return "range from 1 to " + size.toString(ctx, debug);
+		}
 	}
 }
@@ -6,6 +6,7 @@ import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.Variable;
+import io.github.syst3ms.skriptparser.lang.control.IterationState;
 import io.github.syst3ms.skriptparser.lang.control.SelfReferencing;
 import io.github.syst3ms.skriptparser.lang.lambda.ReturnSection;
 import io.github.syst3ms.skriptparser.log.ErrorType;
@@ -16,9 +17,6 @@ import io.github.syst3ms.skriptparser.types.changers.ChangeMode;
 import io.github.syst3ms.skriptparser.util.Pair;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -45,9 +43,6 @@ public class SecMap extends ReturnSection<Object> implements SelfReferencing {
 
 	@Nullable
 	private Statement actualNext;
-	@Nullable
-	private Iterator<?> iterator;
-	private final List<Object> result = new ArrayList<>();
 
 	@Override
 	public boolean loadSection(FileSection section, ParserState parserState, SkriptLogger logger) {
@@ -77,11 +72,11 @@ public class SecMap extends ReturnSection<Object> implements SelfReferencing {
 	@Override
 	public Optional<? extends Statement> walk(TriggerContext ctx) {
 		boolean isVariable = mapped instanceof Variable<?>;
-		if (iterator == null)
-			iterator = isVariable
-					? ((Variable<?>) mapped).variablesIterator(ctx)
-					: mapped.iterator(ctx);
-
+		var state = IterationState.start(this, () -> isVariable
+				? ((Variable<?>) mapped).variablesIterator(ctx)
+				: mapped.iterator(ctx));
+				
+		var iterator = state.getIterator();
 		if (iterator.hasNext()) {
 			setArguments(isVariable
 					? ((Pair<String, Object>) iterator.next()).getSecond()
@@ -89,13 +84,14 @@ public class SecMap extends ReturnSection<Object> implements SelfReferencing {
 			);
 			return start();
 		} else {
+			var result = state.getResults();
 			if (result.size() == 0) {
 				mapped.change(ctx, ChangeMode.DELETE, new Object[0]);
 			} else {
 				mapped.change(ctx, ChangeMode.SET, result.toArray());
 			}
 			finish();
-			return Optional.ofNullable(actualNext);
+			return getActualNext();
 		}
 	}
 
@@ -104,6 +100,7 @@ public class SecMap extends ReturnSection<Object> implements SelfReferencing {
 		assert getArguments().length == 1;
 		if (getReturned().isPresent()) {
 			assert getReturned().get().length == 1;
+			var result = IterationState.get(this).orElseThrow().getResults();
 			result.add(getReturned().get()[0]); // We add the filtered argument to the result
 		}
 	}
@@ -111,8 +108,7 @@ public class SecMap extends ReturnSection<Object> implements SelfReferencing {
 	@Override
 	public void finish() {
 		// Cache clearing
-		iterator = null;
-		result.clear();
+		IterationState.clear(this);
 	}
 
 	@Override
@@ -133,7 +129,7 @@ public class SecMap extends ReturnSection<Object> implements SelfReferencing {
 
 	@Override
 	public Optional<Statement> getActualNext() {
-		return Optional.ofNullable(actualNext);
+		return Optional.ofNullable(actualNext).or(() -> getParent().flatMap(Statement::getNext));
 	}
 
     @Override
@@ -7,12 +7,12 @@ import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.SyntaxElement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.control.Finishing;
+import io.github.syst3ms.skriptparser.lang.control.IterationState;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -65,10 +65,7 @@ public class SecSwitch extends CodeSection implements Finishing {
     private Expression<Object> matched;
     private final List<SecCase> cases = new ArrayList<>();
     @Nullable
-    private Iterator<SecCase> iterator;
-    @Nullable
     private Statement byDefault;
-    private boolean isDone = false;
 
     @Override
     public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
@@ -78,12 +75,10 @@ public class SecSwitch extends CodeSection implements Finishing {
 
     @Override
     public Optional<? extends Statement> walk(TriggerContext ctx) {
-        if (iterator == null)
-            iterator = cases.iterator();
-
-        if (iterator.hasNext()) {
-            return Optional.of(iterator.next());
-        } else if (!isDone && byDefault != null) {
+        var state = IterationState.<SecCase>start(this, cases::iterator);
+        if (state.getIterator().hasNext()) {
+            return Optional.of(state.getIterator().next());
+        } else if (!state.isDone() && byDefault != null) {
             return Optional.of(byDefault);
         } else {
             finish();
@@ -93,8 +88,7 @@ public class SecSwitch extends CodeSection implements Finishing {
 
     @Override
     public void finish() {
-        iterator = null;
-        isDone = false;
+        IterationState.clear(this);
     }
 
     @Override
@@ -124,10 +118,12 @@ public class SecSwitch extends CodeSection implements Finishing {
     }
 
     public boolean isDone() {
-        return isDone;
+        return IterationState.get(this)
+                .map(IterationState::isDone)
+                .orElse(false);
     }
 
     public void setDone(boolean isDone) {
-        this.isDone = isDone;
+        IterationState.get(this).ifPresent(state -> state.setDone(isDone));
     }
 }
@@ -6,7 +6,10 @@ import io.github.syst3ms.skriptparser.lang.CodeSection;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.lang.control.Compilable;
+import io.github.syst3ms.skriptparser.lang.control.CompiledCode;
 import io.github.syst3ms.skriptparser.lang.control.Continuable;
+import io.github.syst3ms.skriptparser.lang.control.Instruction;
 import io.github.syst3ms.skriptparser.lang.control.SelfReferencing;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
 import io.github.syst3ms.skriptparser.parsing.ParseContext;
@@ -25,7 +28,7 @@ import java.util.Optional;
  * @since ALPHA
  * @author Mwexim
  */
-public class SecWhile extends CodeSection implements Continuable, SelfReferencing {
+public class SecWhile extends CodeSection implements Continuable, SelfReferencing, Compilable {
     static {
         Parser.getMainRegistration().addSection(
                 SecWhile.class,
@@ -54,12 +57,19 @@ public class SecWhile extends CodeSection implements Continuable, SelfReferencin
     public Optional<? extends Statement> walk(TriggerContext ctx) {
         Optional<? extends Boolean> cond = condition.getSingle(ctx);
         if (cond.isEmpty() || !cond.get().booleanValue()) {
-            return Optional.ofNullable(actualNext);
+            return getActualNext();
         } else {
             return getFirst();
         }
     }
 
+    @Override
+    public Instruction compile(CompiledCode code) {
+        int body = code.indexOf(getFirst());
+        int after = code.indexOf(getActualNext());
+        return ctx -> Boolean.TRUE.equals(condition.getSingleOrNull(ctx)) ? body : after;
+    }
+
     @Override
     public Statement setNext(@Nullable Statement next) {
         this.actualNext = next;
@@ -73,7 +83,7 @@ public class SecWhile extends CodeSection implements Continuable, SelfReferencin
 
     @Override
     public Optional<Statement> getActualNext() {
-        return Optional.ofNullable(actualNext);
+        return Optional.ofNullable(actualNext).or(() -> getParent().flatMap(Statement::getNext));
     }
 
     @Override
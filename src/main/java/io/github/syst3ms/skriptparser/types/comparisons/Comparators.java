@@ -1,13 +1,11 @@
 package io.github.syst3ms.skriptparser.types.comparisons;
 
 import io.github.syst3ms.skriptparser.types.conversions.Converters;
-import io.github.syst3ms.skriptparser.util.Pair;
+import io.github.syst3ms.skriptparser.util.ClassPairCache;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -39,6 +37,14 @@ public class Comparators {
         if (t1 == Object.class || t2 == Object.class)
             throw new IllegalArgumentException("You must not add a comparator for Objects");
         comparators.add(new ComparatorInfo<>(t1, t2, c));
+        clearCache();
+    }
+
+    /**
+     * Clears the cached comparator lookups. This is called whenever a comparator or a converter is registered.
+     */
+    public static void clearCache() {
+        comparatorsQuickAccess.clear();
     }
 
     @SuppressWarnings({"unchecked"})
@@ -50,16 +56,11 @@ public class Comparators {
                 .orElse(Relation.NOT_EQUAL);
     }
 
-    private final static Map<Pair<Class<?>, Class<?>>, Comparator<?, ?>> comparatorsQuickAccess = new HashMap<>();
+    private final static ClassPairCache<Comparator<?, ?>> comparatorsQuickAccess = new ClassPairCache<>(Comparators::getComparatorInternal);
 
     @SuppressWarnings("unchecked")
     public static <F, S> Optional<? extends Comparator<? super F, ? super S>> getComparator(Class<F> f, Class<S> s) {
-        var p = new Pair<Class<?>, Class<?>>(f, s);
-        if (comparatorsQuickAccess.containsKey(p))
-            return Optional.ofNullable((Comparator<? super F, ? super S>) comparatorsQuickAccess.get(p));
-        var comp = getComparatorInternal(f, s);
-        comp.ifPresent(c -> comparatorsQuickAccess.put(p, c));
-        return comp;
+        return (Optional<? extends Comparator<? super F, ? super S>>) comparatorsQuickAccess.get(f, s);
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,167 @@
+package io.github.syst3ms.skriptparser.types.conversions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A graph of all the conversions that can be made using a set of converters, where each converter may be followed
+ * by any converter accepting its output. For every pair of types involved in a conversion, this graph holds the
+ * shortest {@link ChainedConverter chain} of converters going from the first type to the second one.
+ *
+ * The {@linkplain Converters#NO_LEFT_CHAINING chaining flags} of the converters are honoured : a converter that may
+ * only be the first part of a chain never appears anywhere else, and the same goes for the second part.
+ */
+public class ConverterGraph {
+    private final List<Class<?>> types = new ArrayList<>();
+    private final Map<Class<?>, Integer> indices = new HashMap<>();
+    private final ConverterInfo<?, ?>[][] chains;
+    private final int[][] lengths;
+    // related[i] : the types that are a subtype or a supertype of type i, including itself
+    private final int[][] related;
+
+    /**
+     * Builds the graph and computes the shortest chain between every pair of types
+     * @param converters the converters
+     */
+    public ConverterGraph(List<ConverterInfo<?, ?>> converters) {
+        for (var info : converters) {
+            indexOf(info.getFrom());
+            indexOf(info.getTo());
+        }
+        chains = new ConverterInfo<?, ?>[types.size()][types.size()];
+        lengths = new int[types.size()][types.size()];
+        related = new int[types.size()][];
+        for (var i = 0; i < types.size(); i++) {
+            var relatives = new int[types.size()];
+            var count = 0;
+            for (var j = 0; j < types.size(); j++) {
+                if (types.get(i).isAssignableFrom(types.get(j)) || types.get(j).isAssignableFrom(types.get(i)))
+                    relatives[count++] = j;
+            }
+            related[i] = Arrays.copyOf(relatives, count);
+        }
+
+        var size = converters.size();
+        // next[i] : the converters that can directly follow converter i
+        var next = new int[size][];
+        for (var i = 0; i < size; i++) {
+            var info = converters.get(i);
+            if ((info.getFlags() & Converters.NO_RIGHT_CHAINING) != 0) {
+                next[i] = new int[0];
+                continue;
+            }
+            var following = new int[size];
+            var count = 0;
+            for (var j = 0; j < size; j++) {
+                var info2 = converters.get(j);
+                if ((info2.getFlags() & Converters.NO_LEFT_CHAINING) == 0 && info2.getFrom().isAssignableFrom(info.getTo()))
+                    following[count++] = j;
+            }
+            next[i] = Arrays.copyOf(following, count);
+        }
+
+        // A breadth-first search from every converter finds the shortest chains starting with it
+        var parents = new int[size];
+        var depths = new int[size];
+        var queue = new ArrayDeque<Integer>();
+        for (var start = 0; start < size; start++) {
+            Arrays.fill(depths, 0);
+            depths[start] = 1;
+            parents[start] = -1;
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int current = queue.poll();
+                for (var following : next[current]) {
+                    if (depths[following] == 0) {
+                        depths[following] = depths[current] + 1;
+                        parents[following] = current;
+                        queue.add(following);
+                    }
+                }
+            }
+            var from = indices.get(converters.get(start).getFrom());
+            for (var end = 0; end < size; end++) {
+                if (depths[end] == 0)
+                    continue;
+                var to = indices.get(converters.get(end).getTo());
+                if (lengths[from][to] == 0 || depths[end] < lengths[from][to]) {
+                    lengths[from][to] = depths[end];
+                    chains[from][to] = createChain(converters, parents, end);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the chains made of more than one converter that convert between two types no converter can handle yet,
+     * shortest first. A converter is considered to handle a conversion if its input and output types are related
+     * (a subtype or a supertype) to the types of the conversion, and each returned chain counts as a converter for the
+     * chains that come after it.
+     * @return the chains that are missing from the converters this graph was built from
+     */
+    public List<ConverterInfo<?, ?>> getMissingChains() {
+        var size = types.size();
+        var covered = new boolean[size][size];
+        List<int[]> pairs = new ArrayList<>();
+        for (var i = 0; i < size; i++) {
+            for (var j = 0; j < size; j++) {
+                if (lengths[i][j] == 1) {
+                    cover(covered, i, j);
+                } else if (i != j && lengths[i][j] > 1) {
+                    pairs.add(new int[] {i, j});
+                }
+            }
+        }
+        pairs.sort((p1, p2) -> Integer.compare(lengths[p1[0]][p1[1]], lengths[p2[0]][p2[1]]));
+        List<ConverterInfo<?, ?>> result = new ArrayList<>();
+        for (var pair : pairs) {
+            if (covered[pair[0]][pair[1]])
+                continue;
+            result.add(chains[pair[0]][pair[1]]);
+            cover(covered, pair[0], pair[1]);
+        }
+        return result;
+    }
+
+    private void cover(boolean[][] covered, int from, int to) {
+        for (var i : related[from]) {
+            for (var j : related[to]) {
+                covered[i][j] = true;
+            }
+        }
+    }
+
+    private int indexOf(Class<?> type) {
+        return indices.computeIfAbsent(type, t -> {
+            types.add(t);
+            return types.size() - 1;
+        });
+    }
+
+    private static ConverterInfo<?, ?> createChain(List<ConverterInfo<?, ?>> converters, int[] parents, int end) {
+        var info = converters.get(end);
+        var parent = parents[end];
+        if (parent == -1)
+            return info;
+        return chain(createChain(converters, parents, parent), info);
+    }
+
+    @SuppressWarnings({"unchecked", "MagicConstant"})
+    private static <F, M, T> ConverterInfo<F, T> chain(ConverterInfo<?, ?> first, ConverterInfo<?, ?> second) {
+        var firstInf = (ConverterInfo<F, M>) first;
+        var secondInf = (ConverterInfo<M, T>) second;
+        return new ConverterInfo<>(
+                firstInf.getFrom(),
+                secondInf.getTo(),
+                ChainedConverter.newInstance(
+                        firstInf.getConverter(),
+                        secondInf.getConverter()
+                ),
+                first.getFlags() | second.getFlags()
+        );
+    }
+}
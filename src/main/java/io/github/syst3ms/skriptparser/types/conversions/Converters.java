@@ -1,16 +1,15 @@
 package io.github.syst3ms.skriptparser.types.conversions;
 
 import io.github.syst3ms.skriptparser.registration.SkriptRegistration;
-import io.github.syst3ms.skriptparser.util.Pair;
+import io.github.syst3ms.skriptparser.types.comparisons.Comparators;
+import io.github.syst3ms.skriptparser.util.ClassPairCache;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -77,6 +76,7 @@ public abstract class Converters {
         if (converterExistsSlow(from, to))
             return;
         var info = new ConverterInfo<>(from, to, converter, options);
+        clearCaches();
         for (var i = 0; i < converters.size(); i++) {
             var info2 = converters.get(i);
             if (info2.getFrom().isAssignableFrom(from) && to.isAssignableFrom(info2.getTo())) {
@@ -88,22 +88,21 @@ public abstract class Converters {
     }
 
     /**
-     * Adds all possible {@link ChainedConverter}s to the current converters
+     * Adds all possible {@link ChainedConverter}s to the current converters. When multiple chains could convert
+     * between two types, the shortest one is used.
+     * @see ConverterGraph
      */
     public static void createMissingConverters() {
-        for (var i = 0; i < converters.size(); i++) {
-            var info = converters.get(i);
-            for (var j = 0; j < converters.size(); j++) { // not from j = i+1 since new converters get added during the loops
-                var info2 = converters.get(j);
-                if ((info.getFlags() & NO_RIGHT_CHAINING) == 0 && (info2.getFlags() & NO_LEFT_CHAINING) == 0
-                    && info2.getFrom().isAssignableFrom(info.getTo()) && !converterExistsSlow(info.getFrom(), info2.getTo())) {
-                    converters.add(createChainedConverter(info, info2));
-                } else if ((info.getFlags() & NO_LEFT_CHAINING) == 0 && (info2.getFlags() & NO_RIGHT_CHAINING) == 0
-                    && info.getFrom().isAssignableFrom(info2.getTo()) && !converterExistsSlow(info2.getFrom(), info.getTo())) {
-                    converters.add(createChainedConverter(info2, info));
-                }
-            }
-        }
+        converters.addAll(new ConverterGraph(converters).getMissingChains());
+        clearCaches();
+    }
+
+    /**
+     * Clears the cached converter lookups, as well as the comparator lookups, which depend on them
+     */
+    private static void clearCaches() {
+        convertersCache.clear();
+        Comparators.clearCache();
     }
 
     private static boolean converterExistsSlow(Class<?> from, Class<?> to) {
@@ -115,21 +114,6 @@ public abstract class Converters {
         return false;
     }
 
-    @SuppressWarnings({"unchecked", "MagicConstant"})
-    private static <F, M, T> ConverterInfo<F, T> createChainedConverter(ConverterInfo<?, ?> first, ConverterInfo<?, ?> second) {
-        var firstInf = (ConverterInfo<F, M>) first;
-        var secondInf = (ConverterInfo<M, T>) second;
-        return new ConverterInfo<>(
-                firstInf.getFrom(),
-                secondInf.getTo(),
-                ChainedConverter.newInstance(
-                        firstInf.getConverter(),
-                        secondInf.getConverter()
-                ),
-                first.getFlags() | second.getFlags()
-        );
-    }
-
     /**
 	 * Converts the given value to the desired type. If you want to convert multiple values of the same type you should use {@link #getConverter(Class, Class)} to get a
 	 * converter to convert the values.
@@ -211,7 +195,7 @@ public abstract class Converters {
         return l.toArray((T[]) Array.newInstance(superType, l.size()));
     }
 
-    private final static Map<Pair<Class<?>, Class<?>>, Function<?, ?>> convertersCache = new HashMap<>();
+    private final static ClassPairCache<Function<?, ?>> convertersCache = new ClassPairCache<>(Converters::getConverterInternal);
 
     /**
 	 * Tests whether a converter between the given classes exists.
@@ -246,12 +230,8 @@ public abstract class Converters {
 	 */
     @SuppressWarnings("unchecked")
     public static <F, T> Optional<? extends Function<? super F, Optional<? extends T>>> getConverter(Class<F> from, Class<T> to) {
-        var p = new Pair<Class<?>, Class<?>>(from, to);
-        if (convertersCache.containsKey(p)) // can contain null to denote nonexistence of a converter
-            return Optional.ofNullable((Function<? super F, Optional<? extends T>>) convertersCache.get(p));
-        var c = getConverterInternal(from, to);
-        c.ifPresent(con -> convertersCache.put(p, con));
-        return c;
+        // Also caches the nonexistence of a converter
+        return (Optional<? extends Function<? super F, Optional<? extends T>>>) convertersCache.get(from, to);
     }
 
     @SuppressWarnings("unchecked")
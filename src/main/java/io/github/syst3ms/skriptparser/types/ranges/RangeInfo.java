@@ -1,5 +1,10 @@
 package io.github.syst3ms.skriptparser.types.ranges;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.Optional;
 import java.util.function.BiFunction;
 
 /**
@@ -11,11 +16,31 @@ public class RangeInfo<B, T> {
     private final Class<B> bound;
     private final Class<T> to;
     private final BiFunction<? super B, ? super B, T[]> function;
+    @Nullable
+    private final BiFunction<? super B, ? super B, Iterator<T>> iteratorFunction;
+    @Nullable
+    private final BiFunction<? super B, ? super B, BigInteger> sizeFunction;
 
     public RangeInfo(Class<B> bound, Class<T> to, BiFunction<? super B, ? super B, T[]> function) {
+        this(bound, to, function, null, null);
+    }
+
+    /**
+     * @param bound the type of the two endpoints
+     * @param to the type of the elements of the range
+     * @param function returns all elements between a lower and an upper endpoint
+     * @param iteratorFunction lazily iterates over the elements between two endpoints, from the first one to the second one,
+     *                         which may be greater than or lower than the first one
+     * @param sizeFunction computes the amount of elements between two endpoints, given in any order
+     */
+    public RangeInfo(Class<B> bound, Class<T> to, BiFunction<? super B, ? super B, T[]> function,
+                     @Nullable BiFunction<? super B, ? super B, Iterator<T>> iteratorFunction,
+                     @Nullable BiFunction<? super B, ? super B, BigInteger> sizeFunction) {
         this.bound = bound;
         this.to = to;
         this.function = function;
+        this.iteratorFunction = iteratorFunction;
+        this.sizeFunction = sizeFunction;
     }
 
     public Class<B> getBound() {
@@ -29,4 +54,18 @@ public class RangeInfo<B, T> {
     public BiFunction<? super B, ? super B, T[]> getFunction() {
         return function;
     }
+
+    /**
+     * @return the function lazily iterating over the elements of a range, if this range supports it
+     */
+    public Optional<BiFunction<? super B, ? super B, Iterator<T>>> getIteratorFunction() {
+        return Optional.ofNullable(iteratorFunction);
+    }
+
+    /**
+     * @return the function computing the size of a range without creating its elements, if this range supports it
+     */
+    public Optional<BiFunction<? super B, ? super B, BigInteger>> getSizeFunction() {
+        return Optional.ofNullable(sizeFunction);
+    }
 }
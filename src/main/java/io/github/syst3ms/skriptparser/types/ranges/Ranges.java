@@ -1,6 +1,8 @@
 package io.github.syst3ms.skriptparser.types.ranges;
 
+import java.math.BigInteger;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
@@ -18,6 +20,27 @@ public class Ranges {
         );
     }
 
+    /**
+     * Registers a range whose elements can also be iterated over lazily, and whose size can be computed without creating
+     * its elements. This allows huge ranges to be looped or measured in constant memory.
+     * @param bound the type of the two endpoints
+     * @param to the type of the elements
+     * @param function returns all elements between a lower and an upper endpoint
+     * @param iteratorFunction lazily iterates over the elements from the first endpoint to the second, in either direction
+     * @param sizeFunction computes the amount of elements between two endpoints, given in any order
+     * @param <B> the type of the two endpoints
+     * @param <T> the type of the elements
+     * @see RangeInfo
+     */
+    public static <B, T> void registerRange(Class<B> bound, Class<T> to, BiFunction<? super B, ? super B, T[]> function,
+                                            BiFunction<? super B, ? super B, Iterator<T>> iteratorFunction,
+                                            BiFunction<? super B, ? super B, BigInteger> sizeFunction) {
+        rangeMap.put(
+                bound,
+                new RangeInfo<>(bound, to, function, iteratorFunction, sizeFunction)
+        );
+    }
+
     @SuppressWarnings("unchecked")
     public static <B, T> Optional<? extends RangeInfo<B, T>> getRange(Class<B> bound) {
         for (var c : rangeMap.keySet()) {
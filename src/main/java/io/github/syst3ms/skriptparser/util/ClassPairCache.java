@@ -0,0 +1,60 @@
+package io.github.syst3ms.skriptparser.util;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * A thread-safe cache of values computed from a pair of classes, such as converters or comparators.
+ *
+ * Lookups go through a {@link ClassValue} for the first class and a small map for the second class, which means
+ * that looking up an already computed value doesn't allocate anything. Pairs for which no value exists are cached
+ * as well, so that failed lookups don't have to be computed again.
+ * @param <V> the type of the cached values
+ */
+public class ClassPairCache<V> {
+    private final BiFunction<Class<?>, Class<?>, Optional<? extends V>> loader;
+    private volatile ClassValue<Map<Class<?>, Optional<? extends V>>> cache = newCache();
+
+    /**
+     * @param loader the function computing the value of a pair that isn't cached yet
+     */
+    public ClassPairCache(BiFunction<Class<?>, Class<?>, Optional<? extends V>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Retrieves the value for the given pair of classes, computing it if it wasn't cached yet.
+     * @param first the first class
+     * @param second the second class
+     * @return the value, or an empty {@link Optional} if none exists for this pair
+     */
+    public Optional<? extends V> get(Class<?> first, Class<?> second) {
+        var values = cache.get(first);
+        var value = values.get(second);
+        if (value == null) {
+            value = loader.apply(first, second);
+            var previous = values.putIfAbsent(second, value);
+            if (previous != null)
+                value = previous;
+        }
+        return value;
+    }
+
+    /**
+     * Forgets all cached values. This must be called whenever the data the values are computed from changes.
+     */
+    public void clear() {
+        cache = newCache();
+    }
+
+    private static <V> ClassValue<Map<Class<?>, Optional<? extends V>>> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected Map<Class<?>, Optional<? extends V>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+}
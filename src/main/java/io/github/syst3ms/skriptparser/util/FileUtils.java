@@ -3,12 +3,12 @@ package io.github.syst3ms.skriptparser.util;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
@@ -42,24 +42,36 @@ public class FileUtils {
      * @throws IOException if the file can't be read
      */
     public static List<String> readAllLines(Path filePath) throws IOException {
+        var text = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(Files.readAllBytes(filePath)));
         List<String> lines = new ArrayList<>();
-        var multilineBuilder = new StringBuilder();
-        for (var line : Files.readAllLines(filePath, StandardCharsets.UTF_8)) {
-            line = line.replaceAll("\\s*$", "");
-            if (line.replace("\\" + MULTILINE_SYNTAX_TOKEN, "\0").endsWith(MULTILINE_SYNTAX_TOKEN)) {
-                multilineBuilder.append(line, 0, line.length() - 1).append("\0");
-            } else if (multilineBuilder.length() > 0) {
-                multilineBuilder.append(line);
-                lines.add(trimMultilineIndent(multilineBuilder.toString()));
-                multilineBuilder.setLength(0);
+        List<String> multiline = new ArrayList<>();
+        var length = text.length();
+        var start = 0;
+        while (start < length) {
+            var end = start;
+            while (end < length && text.charAt(end) != '\n' && text.charAt(end) != '\r')
+                end++;
+            var next = end + 1 < length && text.charAt(end) == '\r' && text.charAt(end + 1) == '\n' ? end + 2 : end + 1;
+            // Trailing whitespace is ignored
+            while (end > start && isWhitespace(text.charAt(end - 1)))
+                end--;
+            // An escaped backslash doesn't continue the line
+            var backslashes = 0;
+            while (end - backslashes > start && text.charAt(end - backslashes - 1) == MULTILINE_SYNTAX_TOKEN.charAt(0))
+                backslashes++;
+            if (backslashes % 2 == 1) {
+                multiline.add(text.subSequence(start, end - 1).toString());
+            } else if (!multiline.isEmpty()) {
+                multiline.add(text.subSequence(start, end).toString());
+                lines.add(trimMultilineIndent(multiline));
+                multiline.clear();
             } else {
-                lines.add(line);
+                lines.add(text.subSequence(start, end).toString());
             }
+            start = next;
         }
-        if (multilineBuilder.length() > 0) {
-            multilineBuilder.deleteCharAt(multilineBuilder.length() - 1);
-            lines.add(trimMultilineIndent(multilineBuilder.toString()));
-        }
+        if (!multiline.isEmpty())
+            lines.add(trimMultilineIndent(multiline));
         return lines;
     }
 
@@ -72,37 +84,51 @@ public class FileUtils {
      * @return the indentation level
      */
     public static int getIndentationLevel(String line, boolean countAllSpaces) {
-        var m = LEADING_WHITESPACE_PATTERN.matcher(line);
-        if (m.matches()) {
-            var space = m.group(1);
-            if (countAllSpaces) {
-                return 4 * StringUtils.count(space, "\t") + StringUtils.count(space, " ");
-            } else {
-                return StringUtils.count(space, "\t", "    ");
+        var tabs = 0;
+        var spaces = 0;
+        var groups = 0;
+        var run = 0;
+        var i = 0;
+        for (; i < line.length() && isWhitespace(line.charAt(i)); i++) {
+            var c = line.charAt(i);
+            if (c == ' ') {
+                spaces++;
+                run++;
+                continue;
+            } else if (c == '\t') {
+                tabs++;
             }
-        } else {
-            return 0;
+            groups += run / 4;
+            run = 0;
         }
+        groups += run / 4;
+        // Blank lines have no indentation
+        if (i == line.length())
+            return 0;
+        return countAllSpaces ? 4 * tabs + spaces : tabs + groups;
     }
 
-    private static String trimMultilineIndent(String multilineText) {
-        var lines = multilineText.split("\0");
+    /**
+     * @param c a character
+     * @return whether the character is whitespace, in the sense of the {@code \s} regex character class
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static String trimMultilineIndent(List<String> lines) {
         // Inspired from Kotlin's trimIndent() function
-        var baseIndent = Arrays.stream(lines)
+        var baseIndent = lines.stream()
                 .skip(1) // First line's indent should be ignored
                 .mapToInt(l -> getIndentationLevel(l, true))
                 .min()
                 .orElse(0);
-        if (baseIndent == 0)
-            return multilineText.replace("\0", "");
-        var pat = Pattern.compile("\\s");
-        var sb = new StringBuilder(lines[0]);
-        for (var line : Arrays.copyOfRange(lines, 1, lines.length)) {
-            var m = pat.matcher(line);
-            for (var i = 0; i < baseIndent && m.find(); i++) {
-                line = line.replaceFirst(m.group(), "");
-            }
-            sb.append(line);
+        var sb = new StringBuilder(lines.get(0));
+        for (var line : lines.subList(1, lines.size())) {
+            var i = 0;
+            for (var removed = 0; removed < baseIndent && i < line.length() && isWhitespace(line.charAt(i)); i++)
+                removed += line.charAt(i) == '\t' ? 4 : 1;
+            sb.append(line, i, line.length());
         }
         return sb.toString();
     }
@@ -1,5 +1,7 @@
 package io.github.syst3ms.skriptparser.util;
 
+import java.util.Objects;
+
 /**
  * A simple pair of two values.
  * @param <T> type of the first value
@@ -40,4 +42,9 @@ public class Pair<T, U> {
         return first.equals(pair.first) &&
                 second.equals(pair.second);
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(first, second);
+    }
 }
@@ -0,0 +1,103 @@
+package io.github.syst3ms.skriptparser.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A shared, bounded cache of compiled regex {@linkplain Pattern patterns}, so that code using the same patterns over
+ * and over again, such as string expressions running in a loop, doesn't compile them every time.
+ * When the cache is full, the least recently used pattern is discarded.
+ */
+public class PatternCache {
+    private static final int CAPACITY = 256;
+    private static final Map<Pair<String, Integer>, Pattern> PATTERNS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Pair<String, Integer>, Pattern> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param regex the regex
+     * @return the compiled pattern
+     * @throws PatternSyntaxException if the regex is invalid
+     */
+    public static Pattern get(String regex) {
+        return get(regex, 0);
+    }
+
+    /**
+     * @param regex the regex
+     * @param flags the flags of the pattern, as in {@link Pattern#compile(String, int)}
+     * @return the compiled pattern
+     * @throws PatternSyntaxException if the regex is invalid
+     */
+    public static Pattern get(String regex, int flags) {
+        var key = new Pair<>(regex, flags);
+        synchronized (PATTERNS) {
+            var pattern = PATTERNS.get(key);
+            if (pattern != null) {
+                hits.incrementAndGet();
+                return pattern;
+            }
+        }
+        misses.incrementAndGet();
+        // Compiled outside of the lock, at the cost of sometimes compiling the same pattern twice
+        var pattern = Pattern.compile(regex, flags);
+        synchronized (PATTERNS) {
+            PATTERNS.put(key, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * @param regex the regex
+     * @return the compiled pattern, or an empty {@link Optional} if the regex is invalid
+     */
+    public static Optional<Pattern> tryGet(String regex) {
+        try {
+            return Optional.of(get(regex));
+        } catch (PatternSyntaxException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param text some text
+     * @return a pattern matching the given text literally
+     */
+    public static Pattern literal(String text) {
+        return get(text, Pattern.LITERAL);
+    }
+
+    /**
+     * @return the amount of times a pattern was found in the cache
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the amount of times a pattern had to be compiled
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Discards all cached patterns and resets the counters.
+     */
+    public static void clear() {
+        synchronized (PATTERNS) {
+            PATTERNS.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+}
@@ -3,8 +3,7 @@ package io.github.syst3ms.skriptparser.util;
 import io.github.syst3ms.skriptparser.registration.SyntaxInfo;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -17,6 +16,12 @@ import java.util.NoSuchElementException;
  *
  * To illustrate the behaviour of this class, imagine you use some syntax A 8 times, then use syntax B once. The very
  * next time the parser does the "recent syntaxes" check, it will check syntax A first, because it was used more than syntax B.
+ *
+ * Usage counts decay over time : every time an element is acknowledged, all previous acknowledgements become slightly
+ * less important. This way, syntaxes that were used a lot at the beginning of a long file don't stay on top forever
+ * once the script starts using other syntaxes.
+ *
+ * This class is not thread-safe. It is meant to be confined to a single thread, for example through a {@link ThreadLocal}.
  * @param <T> the type of {@link SyntaxInfo}
  */
 public class RecentElementList<T> implements Iterable<T> {
@@ -26,18 +31,47 @@ public class RecentElementList<T> implements Iterable<T> {
      * wants to use a syntax one hasn't used before, it would take a lot of time to actually match the pattern against
      * it, since there's all the previously used syntaxes to check beforehand.
      *
-     * Hence, the maximum number of recent elements is capped.
+     * Hence, the number of recent elements is capped. When the list is full, the least used element is evicted.
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+    /**
+     * The factor by which the weight of all previous acknowledgements is multiplied every time a new element is
+     * acknowledged.
      */
-    // Ideally this would be properly configurable. I'll let it be a constant for now.
-    public static final int MAX_LIST_SIZE = 10;
+    public static final double DEFAULT_DECAY = 0.95;
 
-    // Sorts entries by their value in decreasing order
-    private static final Comparator<Map.Entry<?, Integer>> ENTRY_COMPARATOR = (f, s) -> s.getValue() - f.getValue();
+    /*
+     * Rather than multiplying every score by the decay factor on every acknowledgement, the weight of new
+     * acknowledgements grows instead, and all scores are scaled back down once that weight becomes too large.
+     */
+    private static final double RESCALE_THRESHOLD = 1e100;
 
-    private final Map<T, Integer> backing = new HashMap<>();
-    private final List<T> occurrences = new ArrayList<>();
+    // Sorted by decreasing score
+    private final Object[] elements;
+    private final double[] scores;
+    private final Map<T, Integer> slots = new HashMap<>();
+    private final double growth;
+    private double weight = 1;
+    private int size = 0;
 
-    public RecentElementList() {}
+    public RecentElementList() {
+        this(DEFAULT_CAPACITY, DEFAULT_DECAY);
+    }
+
+    /**
+     * @param capacity the maximum amount of elements this list keeps track of
+     * @param decay the factor by which the weight of previous acknowledgements is multiplied on every acknowledgement.
+     *              Must be between 0 (exclusive) and 1 (inclusive), 1 meaning that counts never decay.
+     */
+    public RecentElementList(int capacity, double decay) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("The capacity must be positive");
+        if (decay <= 0 || decay > 1)
+            throw new IllegalArgumentException("The decay must be between 0 (exclusive) and 1 (inclusive)");
+        this.elements = new Object[capacity];
+        this.scores = new double[capacity];
+        this.growth = 1 / decay;
+    }
 
     /**
      * Updates a given syntax's position inside of the frequency hierarchy. This is used to acknowledge that a given{@link SyntaxInfo}
@@ -45,39 +79,43 @@ public class RecentElementList<T> implements Iterable<T> {
      * @param element the element to update
      */
     public void acknowledge(T element) {
-        if (!occurrences.contains(element)) {
-            if (occurrences.size() >= MAX_LIST_SIZE)
-                return;
-            occurrences.add(element);
-            backing.put(element, 1);
-        } else {
-            for (var freq : backing.entrySet()) {
-                if (freq.getKey().equals(element))
-                    backing.put(freq.getKey(), freq.getValue() + 1);
+        var slot = slots.get(element);
+        if (slot == null) {
+            if (size < elements.length) {
+                slot = size++;
+            } else {
+                slot = size - 1;
+                slots.remove(elementAt(slot));
             }
+            elements[slot] = element;
+            scores[slot] = 0;
+            slots.put(element, slot);
+        }
+        scores[slot] += weight;
+        while (slot > 0 && scores[slot - 1] < scores[slot]) {
+            swap(slot - 1, slot);
+            slot--;
+        }
+        weight *= growth;
+        if (weight > RESCALE_THRESHOLD) {
+            for (var i = 0; i < size; i++) {
+                scores[i] /= weight;
+            }
+            weight = 1;
         }
     }
 
     /**
-     * Merges the elements of this list and the elements of the other list into a new set.
-     * The elements of this list have priority over the other elements. There will be
-     * no duplicate elements in the returned collection.
+     * Merges the elements of this list and the elements of the other list into a single view.
+     * The elements of this list that are also part of the other list come first, then come the remaining elements
+     * of the other list, in their original order. There will be no duplicate elements in the returned view.
+     *
+     * Neither list is copied nor modified : the view reflects the elements of this list at the time iteration starts.
      * @param other the other list
-     * @return a merged set with the elements of both lists
-     */
-    public List<T> mergeWith(List<T> other) {
-        List<T> merged = new ArrayList<>(occurrences);
-        other.removeAll(occurrences);
-        merged.addAll(other);
-        return merged;
-    }
-
-    /**
-     * Removes the elements of this {@link RecentElementList} from another {@link List}, in-place.
-     * @param list the list to remove from
+     * @return a merged view of both lists
      */
-    public void removeFrom(List<T> list) {
-        list.removeAll(occurrences);
+    public Iterable<T> mergeWith(List<? extends T> other) {
+        return () -> new MergedIterator(other);
     }
 
     /**
@@ -87,27 +125,107 @@ public class RecentElementList<T> implements Iterable<T> {
     @NotNull
     @Override
     public Iterator<T> iterator() {
-        var entries = new ArrayList<>(backing.entrySet());
-        entries.sort(ENTRY_COMPARATOR);
-        /*
-         * Anonymous class because usual Iterator implementations check for concurrent modification, which we don't really
-         * care about here. This shouldn't cause issues even if parallel parsing is implemented, because any reasonable
-         * implementation would not use one RecentElementList across multiple threads. At least I hope so...
-         */
-        return new Iterator<>() {
-            private int index = 0;
-
-            @Override
-            public boolean hasNext() {
-                return index < entries.size();
+        return new ArrayIterator(Arrays.copyOf(elements, size));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int slot) {
+        return (T) elements[slot];
+    }
+
+    private void swap(int first, int second) {
+        var element = elements[first];
+        elements[first] = elements[second];
+        elements[second] = element;
+        var score = scores[first];
+        scores[first] = scores[second];
+        scores[second] = score;
+        slots.put(elementAt(first), first);
+        slots.put(elementAt(second), second);
+    }
+
+    /*
+     * Custom iterators because usual Iterator implementations check for concurrent modification, which we don't want
+     * here : nested parsing acknowledges elements while an outer iteration is still ongoing.
+     */
+    private class ArrayIterator implements Iterator<T> {
+        private final Object[] array;
+        private int index = 0;
+
+        ArrayIterator(Object[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < array.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return (T) array[index++];
+        }
+    }
+
+    /*
+     * Both phases are lazy : a recent element is only looked up in the other list once the iteration reaches it, and
+     * the other list is only walked once all recent elements have been tried. Lookups usually stop at the first
+     * recent element, in which case only a part of the other list is ever scanned.
+     */
+    private class MergedIterator implements Iterator<T> {
+        private final Object[] recent;
+        private final List<? extends T> other;
+        private int recentIndex = 0;
+        private Iterator<? extends T> remaining;
+        private T next;
+
+        MergedIterator(List<? extends T> other) {
+            this.recent = Arrays.copyOf(elements, size);
+            this.other = other;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean hasNext() {
+            if (next != null)
+                return true;
+            while (recentIndex < recent.length) {
+                var element = (T) recent[recentIndex++];
+                if (other.contains(element)) {
+                    next = element;
+                    return true;
+                }
             }
+            if (remaining == null)
+                remaining = other.iterator();
+            while (remaining.hasNext()) {
+                var element = remaining.next();
+                if (!isRecent(element)) {
+                    next = element;
+                    return true;
+                }
+            }
+            return false;
+        }
 
-            @Override
-            public T next() {
-                if (!hasNext())
-                    throw new NoSuchElementException();
-                return entries.get(index++).getKey();
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            var element = next;
+            next = null;
+            return element;
+        }
+
+        private boolean isRecent(T element) {
+            for (var recentElement : recent) {
+                if (recentElement.equals(element))
+                    return true;
             }
-        };
+            return false;
+        }
     }
 }
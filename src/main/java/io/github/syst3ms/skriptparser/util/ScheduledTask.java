@@ -0,0 +1,108 @@
+package io.github.syst3ms.skriptparser.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * A handle to some code that was scheduled to run later, using {@link ThreadUtils}.
+ */
+public final class ScheduledTask {
+    private final Runnable code;
+    private final long period;
+    @Nullable
+    private final TaskMetrics metrics;
+    @Nullable
+    private final Set<ScheduledTask> pending;
+    private volatile long deadline;
+    private volatile boolean cancelled = false;
+    private volatile boolean done = false;
+
+    /**
+     * @param code the code to run
+     * @param deadline the time at which the code should run, in the scale of {@link System#nanoTime()}
+     * @param period the delay between two runs in nanoseconds, or 0 if the code should only be run once
+     * @param metrics the metrics to update
+     * @param pending the pending tasks of the same owner, which this task is part of until it is cancelled or done
+     */
+    ScheduledTask(Runnable code, long deadline, long period, @Nullable TaskMetrics metrics, @Nullable Set<ScheduledTask> pending) {
+        this.code = code;
+        this.deadline = deadline;
+        this.period = period;
+        this.metrics = metrics;
+        this.pending = pending;
+        if (metrics != null)
+            metrics.scheduled();
+        if (pending != null)
+            pending.add(this);
+    }
+
+    /**
+     * Prevents this task from running ever again. If the code is currently running, it isn't interrupted.
+     * @return {@code true} if the task was cancelled, {@code false} if it was already cancelled or done
+     */
+    public boolean cancel() {
+        if (cancelled || done)
+            return false;
+        cancelled = true;
+        if (metrics != null)
+            metrics.cancelled();
+        if (pending != null)
+            pending.remove(this);
+        return true;
+    }
+
+    /**
+     * @return whether this task was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return whether this task ran and won't run anymore
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Runs the code of this task.
+     * @return whether the task needs to be scheduled again
+     */
+    boolean run() {
+        if (cancelled)
+            return false;
+        var start = System.nanoTime();
+        try {
+            code.run();
+        } catch (RuntimeException e) {
+            // A task that failed once is likely to fail again, so it isn't rescheduled
+            System.err.println("Error while running a scheduled task:");
+            e.printStackTrace();
+            finish();
+            return false;
+        } finally {
+            if (metrics != null)
+                metrics.executed(System.nanoTime() - start);
+        }
+        if (cancelled) // Cancelled while running, which cancel() already accounted for
+            return false;
+        if (period > 0) {
+            deadline += period;
+            return true;
+        }
+        finish();
+        return false;
+    }
+
+    private void finish() {
+        done = true;
+        if (pending != null)
+            pending.remove(this);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.syst3ms.skriptparser.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the tasks that were scheduled on behalf of a given owner, typically a trigger.
+ * @see ThreadUtils#getMetrics(Object)
+ */
+public final class TaskMetrics {
+    private final AtomicLong scheduled = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong runTime = new AtomicLong();
+
+    void scheduled() {
+        scheduled.incrementAndGet();
+    }
+
+    void executed(long nanos) {
+        executed.incrementAndGet();
+        runTime.addAndGet(nanos);
+    }
+
+    void cancelled() {
+        cancelled.incrementAndGet();
+    }
+
+    /**
+     * @return the amount of tasks that were scheduled
+     */
+    public long getScheduled() {
+        return scheduled.get();
+    }
+
+    /**
+     * @return the amount of times a task was run. A periodical task counts once for every run.
+     */
+    public long getExecuted() {
+        return executed.get();
+    }
+
+    /**
+     * @return the amount of tasks that were cancelled
+     */
+    public long getCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * @return the total time spent running tasks
+     */
+    public Duration getRunTime() {
+        return Duration.ofNanos(runTime.get());
+    }
+
+    @Override
+    public String toString() {
+        return "TaskMetrics(scheduled=" + getScheduled() + ", executed=" + getExecuted() + ", cancelled=" + getCancelled() + ", runTime=" + getRunTime() + ")";
+    }
+}
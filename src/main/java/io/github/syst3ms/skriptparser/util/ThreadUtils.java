@@ -1,41 +1,117 @@
 package io.github.syst3ms.skriptparser.util;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Utilities to run code asynchronously or at a later time.
+ *
+ * By default, all code is run by a single shared pool of worker threads, which grows up to {@link #MAX_WORKERS} threads
+ * so that blocking code doesn't hold up the rest, and queues the code past that. All delays are handled by a single timer thread, no matter how many tasks are scheduled
+ * at the same time. The timer thread keeps the JVM alive as long as some code is pending or running. Every method returns a {@link ScheduledTask} that
+ * may be used to cancel the code, and can record {@linkplain TaskMetrics metrics} on behalf of an owner, typically
+ * the trigger the code belongs to. All the tasks of an owner may be cancelled at once using {@link #cancelAll(Object)}.
+ *
+ * On Java 21 and above, code may be run on virtual threads instead, using {@link #setVirtualThreads(boolean)}, so that
+ * blocking code doesn't need a platform thread of its own.
+ */
 public class ThreadUtils {
+	/**
+	 * The maximum amount of worker threads in the shared pool.
+	 */
+	public static final int MAX_WORKERS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+	private static final ThreadPoolExecutor WORKERS;
+	private static final TimingWheel TIMER;
+	private static volatile ExecutorService executor;
+	private static final Map<Object, TaskMetrics> METRICS = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final Map<Object, Set<ScheduledTask>> PENDING = Collections.synchronizedMap(new WeakHashMap<>());
+
+	static {
+		var count = new AtomicInteger();
+		// A queue only makes a pool grow past its core size once it is full, so idle core threads time out instead
+		WORKERS = new ThreadPoolExecutor(MAX_WORKERS, MAX_WORKERS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			var thread = new Thread(r, "Skript worker #" + count.incrementAndGet());
+			// The timer thread is the one keeping the JVM alive
+			thread.setDaemon(true);
+			return thread;
+		});
+		WORKERS.allowCoreThreadTimeOut(true);
+		executor = WORKERS;
+		TIMER = new TimingWheel(ThreadUtils::execute, "Skript timer");
+	}
+
+	private static void execute(Runnable command) {
+		try {
+			executor.execute(command);
+		} catch (RejectedExecutionException e) {
+			// The executor was replaced and shut down in the meantime
+			WORKERS.execute(command);
+		}
+	}
+
+	/**
+	 * Run certain code once on a separate thread.
+	 * @param code the runnable that needs to be executed
+	 * @return the scheduled task
+	 */
+	public static ScheduledTask runAsync(Runnable code) {
+		return runAsync(code, null);
+	}
 
 	/**
-	 * Run certain code once on a separate thread. The thread is shut down after the code ran.
+	 * Run certain code once on a separate thread.
 	 * @param code the runnable that needs to be executed
+	 * @param owner the owner the metrics of this task are recorded for, if any
+	 * @return the scheduled task
 	 */
-	public static void runAsync(Runnable code) {
-		ExecutorService executor = Executors.newCachedThreadPool();
-		executor.submit(code);
-		executor.shutdown();
+	public static ScheduledTask runAsync(Runnable code, @Nullable Object owner) {
+		return schedule(code, Duration.ZERO, Duration.ZERO, owner);
 	}
 
 	/**
-	 * Run certain code once after a certain delay. The thread is shut down after the code ran.
+	 * Run certain code once after a certain delay.
 	 * @param code the runnable that needs to be executed
 	 * @param duration the delay
+	 * @return the scheduled task
 	 */
-	public static void runAfter(Runnable code, Duration duration) {
-		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
-		executor.schedule(code, duration.toMillis(), TimeUnit.MILLISECONDS);
-		executor.shutdown();
+	public static ScheduledTask runAfter(Runnable code, Duration duration) {
+		return runAfter(code, duration, null);
+	}
+
+	/**
+	 * Run certain code once after a certain delay.
+	 * @param code the runnable that needs to be executed
+	 * @param duration the delay
+	 * @param owner the owner the metrics of this task are recorded for, if any
+	 * @return the scheduled task
+	 */
+	public static ScheduledTask runAfter(Runnable code, Duration duration, @Nullable Object owner) {
+		return schedule(code, duration, Duration.ZERO, owner);
 	}
 
 	/**
 	 * Runs certain code periodically.
 	 * @param code the runnable that needs to be executed
 	 * @param duration the delay
+	 * @return the scheduled task
 	 */
-	public static void runPeriodically(Runnable code, Duration duration) {
-		runPeriodically(code, duration, duration);
+	public static ScheduledTask runPeriodically(Runnable code, Duration duration) {
+		return runPeriodically(code, duration, duration);
 	}
 
 	/**
@@ -43,10 +119,24 @@ public class ThreadUtils {
 	 * @param code the runnable that needs to be executed
 	 * @param initialDelay the initial delay
 	 * @param duration the delay
+	 * @return the scheduled task
 	 */
-	public static void runPeriodically(Runnable code, Duration initialDelay, Duration duration) {
-		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-		scheduler.scheduleAtFixedRate(code, initialDelay.toMillis(), duration.toMillis(), TimeUnit.MILLISECONDS);
+	public static ScheduledTask runPeriodically(Runnable code, Duration initialDelay, Duration duration) {
+		return runPeriodically(code, initialDelay, duration, null);
+	}
+
+	/**
+	 * Runs certain code periodically. A run never starts before the previous one has finished.
+	 * @param code the runnable that needs to be executed
+	 * @param initialDelay the initial delay
+	 * @param duration the delay
+	 * @param owner the owner the metrics of this task are recorded for, if any
+	 * @return the scheduled task
+	 */
+	public static ScheduledTask runPeriodically(Runnable code, Duration initialDelay, Duration duration, @Nullable Object owner) {
+		if (duration.isZero() || duration.isNegative())
+			throw new IllegalArgumentException("The period must be positive");
+		return schedule(code, initialDelay, duration, owner);
 	}
 
 	/**
@@ -54,9 +144,10 @@ public class ThreadUtils {
 	 * @param code the runnable that needs to be executed
 	 * @param duration the delay
 	 * @param maxTime the duration this thread will be opened in milliseconds
+	 * @return the scheduled task
 	 */
-	public static void runPeriodicallyBounded(Runnable code, Duration duration, Duration maxTime) {
-		runPeriodicallyBounded(code, duration, duration, maxTime);
+	public static ScheduledTask runPeriodicallyBounded(Runnable code, Duration duration, Duration maxTime) {
+		return runPeriodicallyBounded(code, duration, duration, maxTime);
 	}
 
 	/**
@@ -65,15 +156,83 @@ public class ThreadUtils {
 	 * @param initialDelay the initial delay
 	 * @param duration the delay
 	 * @param maxTime the duration this thread will be opened in milliseconds
+	 * @return the scheduled task
+	 */
+	public static ScheduledTask runPeriodicallyBounded(Runnable code, Duration initialDelay, Duration duration, Duration maxTime) {
+		var task = runPeriodically(code, initialDelay, duration);
+		runAfter(task::cancel, maxTime);
+		return task;
+	}
+
+	/**
+	 * @param owner the owner of some tasks
+	 * @return the metrics of all the tasks that were scheduled on behalf of this owner, if there were any
+	 */
+	public static Optional<TaskMetrics> getMetrics(Object owner) {
+		return Optional.ofNullable(METRICS.get(owner));
+	}
+
+	/**
+	 * Cancels all the tasks that were scheduled on behalf of the given owner and haven't run yet, or are periodical.
+	 * @param owner the owner of some tasks
+	 * @return the amount of tasks that were cancelled
+	 * @see ScheduledTask#cancel()
+	 */
+	public static int cancelAll(Object owner) {
+		var pending = PENDING.get(owner);
+		if (pending == null)
+			return 0;
+		var count = 0;
+		for (var task : pending.toArray(new ScheduledTask[0])) {
+			if (task.cancel())
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Chooses whether code is run on virtual threads or on the shared pool of platform threads. Virtual threads are
+	 * only available on Java 21 and above ; on older versions, this method has no effect and code keeps running on
+	 * the shared pool, which never has more than {@link #MAX_WORKERS} threads.
+	 * @param enabled whether to use virtual threads
+	 * @return whether virtual threads are used from now on
 	 */
-	public static void runPeriodicallyBounded(Runnable code, Duration initialDelay, Duration duration, Duration maxTime) {
-		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-		scheduler.scheduleAtFixedRate(code, initialDelay.toMillis(), duration.toMillis(), TimeUnit.MILLISECONDS);
-		scheduler.schedule(scheduler::shutdownNow, maxTime.toMillis(), TimeUnit.MILLISECONDS);
+	public static synchronized boolean setVirtualThreads(boolean enabled) {
+		if (!enabled) {
+			replaceExecutor(WORKERS);
+			return false;
+		}
+		if (executor != WORKERS)
+			return true;
+		try {
+			var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			replaceExecutor((ExecutorService) factory.invoke(null));
+			return true;
+		} catch (ReflectiveOperationException e) {
+			// Either the method doesn't exist, or virtual threads are a preview feature that isn't enabled
+			return false;
+		}
+	}
+
+	/**
+	 * @return whether code is run on virtual threads
+	 * @see #setVirtualThreads(boolean)
+	 */
+	public static boolean isUsingVirtualThreads() {
+		return executor != WORKERS;
+	}
+
+	private static void replaceExecutor(ExecutorService replacement) {
+		var previous = executor;
+		executor = replacement;
+		// Tasks that were already submitted still run
+		if (previous != WORKERS && previous != replacement)
+			previous.shutdown();
 	}
 
 	/**
 	 * Builds a new thread using an {@link ExecutorService}, allowing various utility methods.
+	 * Prefer the other methods of this class, which share their threads.
 	 * @return the created thread
 	 */
 	public static ExecutorService buildAsync() {
@@ -82,9 +241,18 @@ public class ThreadUtils {
 
 	/**
 	 * Builds a new thread using an {@link ScheduledExecutorService}, allowing various utility methods.
+	 * Prefer the other methods of this class, which share their threads.
 	 * @return the created thread
 	 */
 	public static ScheduledExecutorService buildPeriodic() {
 		return Executors.newSingleThreadScheduledExecutor();
 	}
+
+	private static ScheduledTask schedule(Runnable code, Duration delay, Duration period, @Nullable Object owner) {
+		var metrics = owner == null ? null : METRICS.computeIfAbsent(owner, __ -> new TaskMetrics());
+		var pending = owner == null ? null : PENDING.computeIfAbsent(owner, __ -> ConcurrentHashMap.newKeySet());
+		var task = new ScheduledTask(code, System.nanoTime() + delay.toNanos(), period.toNanos(), metrics, pending);
+		TIMER.schedule(task);
+		return task;
+	}
 }
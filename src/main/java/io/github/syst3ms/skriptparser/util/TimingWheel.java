@@ -0,0 +1,167 @@
+package io.github.syst3ms.skriptparser.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timing wheel : a single thread keeping track of all {@link ScheduledTask}s, handing them over to an
+ * {@link Executor} once they are due.
+ *
+ * Time is divided into ticks, and the wheel is a circular array of buckets, one per tick. A task is put in the bucket
+ * of the tick it is due at, so scheduling and expiring a task both take constant time, no matter how many tasks are
+ * pending. Tasks that are due more than one full turn of the wheel later simply stay in their bucket until then.
+ *
+ * The thread of the wheel is not a daemon thread : it keeps the JVM alive as long as some tasks are pending or
+ * running, and stops once there are none left for a while. It is started again when a new task is scheduled.
+ */
+final class TimingWheel {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int WHEEL_SIZE = 512; // Must be a power of two
+
+    private final Executor executor;
+    private final String threadName;
+    private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+    private final List<List<Entry>> buckets = new ArrayList<>(WHEEL_SIZE);
+    private final AtomicInteger running = new AtomicInteger();
+    private final long start = System.nanoTime();
+    @Nullable
+    private Thread thread;
+    // Only accessed by the wheel thread
+    private long tick = 0;
+    private int pending = 0;
+
+    TimingWheel(Executor executor, String threadName) {
+        this.executor = executor;
+        this.threadName = threadName;
+        for (var i = 0; i < WHEEL_SIZE; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules a task to be handed over to the executor once its deadline is reached
+     * @param task the task
+     */
+    void schedule(ScheduledTask task) {
+        if (task.getDeadline() - System.nanoTime() <= 0) {
+            dispatch(task);
+        } else {
+            incoming.add(new Entry(task, ticksUntil(task.getDeadline())));
+            wakeUp();
+        }
+    }
+
+    private synchronized void wakeUp() {
+        if (thread == null) {
+            thread = new Thread(this::loop, threadName);
+            thread.start();
+        } else {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void dispatch(ScheduledTask task) {
+        running.incrementAndGet();
+        try {
+            executor.execute(() -> run(task));
+        } catch (RuntimeException e) {
+            running.decrementAndGet();
+            System.err.println("Couldn't run a scheduled task:");
+            e.printStackTrace();
+            return;
+        }
+        // Makes sure the wheel thread keeps the JVM alive while the task runs
+        wakeUp();
+    }
+
+    private void run(ScheduledTask task) {
+        try {
+            if (task.run())
+                schedule(task);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    private long ticksUntil(long deadline) {
+        // Rounded up, so that a task is never run early
+        return (deadline - start + TICK_NANOS - 1) / TICK_NANOS;
+    }
+
+    private void loop() {
+        while (true) {
+            if (pending == 0 && incoming.isEmpty()) {
+                if (running.get() == 0) {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                    synchronized (this) {
+                        if (running.get() == 0 && incoming.isEmpty()) {
+                            thread = null;
+                            return;
+                        }
+                    }
+                } else {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+                // Nothing happened while the wheel was empty, so there's no need to go through the elapsed ticks
+                tick = Math.max(tick, (System.nanoTime() - start) / TICK_NANOS);
+                continue;
+            }
+            long wait;
+            while ((wait = start + tick * TICK_NANOS - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+            try {
+                advance();
+            } catch (RuntimeException e) {
+                // The wheel must keep going, or no task would ever run again
+                System.err.println("Error in the scheduler:");
+                e.printStackTrace();
+            }
+            tick++;
+        }
+    }
+
+    private void advance() {
+        Entry entry;
+        while ((entry = incoming.poll()) != null) {
+            if (entry.task.isCancelled())
+                continue;
+            entry.tick = Math.max(entry.tick, tick);
+            buckets.get((int) (entry.tick & (WHEEL_SIZE - 1))).add(entry);
+            pending++;
+        }
+        var bucket = buckets.get((int) (tick & (WHEEL_SIZE - 1)));
+        var kept = 0;
+        for (var i = 0; i < bucket.size(); i++) {
+            var e = bucket.get(i);
+            if (e.task.isCancelled()) {
+                pending--;
+            } else if (e.tick <= tick) {
+                pending--;
+                dispatch(e.task);
+            } else {
+                bucket.set(kept++, e);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    private static final class Entry {
+        private final ScheduledTask task;
+        private long tick;
+
+        Entry(ScheduledTask task, long tick) {
+            this.task = task;
+            this.tick = tick;
+        }
+    }
+}
@@ -20,9 +20,118 @@ public class NumberMath {
     // All cached primes. Some prime numbers are cached by default.
     private static final ArrayList<Integer> cachedPrimes = new ArrayList<>(sieveOfEratosthenes(1000));
 
+    /*
+     * Integers resulting from arithmetic are represented by a Long as long as they fit in one, and are only promoted
+     * to a BigInteger when they overflow. Decimals are always represented by a BigDecimal, so that results are exact.
+     * Since a Long is never equal to a BigInteger, numbers must be compared through the Number comparator rather than
+     * with equals().
+     */
+
+    /**
+     * @param n the number
+     * @return whether the number is an integer, represented exactly
+     */
+    public static boolean isIntegral(Number n) {
+        return n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte || n instanceof BigInteger;
+    }
+
+    /**
+     * @param n the number
+     * @return whether the number is an integer whose value fits in a long
+     */
+    private static boolean isSmallIntegral(Number n) {
+        return n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte
+                || n instanceof BigInteger && ((BigInteger) n).bitLength() < Long.SIZE;
+    }
+
+    /**
+     * @param n the integer
+     * @return the integer as a {@link Long} if it fits in one, or as a {@link BigInteger} otherwise
+     */
+    public static Number narrow(BigInteger n) {
+        return n.bitLength() < Long.SIZE ? (Number) n.longValue() : n;
+    }
+
+    public static Number add(Number left, Number right) {
+        if (isSmallIntegral(left) && isSmallIntegral(right)) {
+            long l = left.longValue(), r = right.longValue();
+            long result = l + r;
+            // Overflow happened if the result doesn't have the sign of either operand
+            if (((l ^ result) & (r ^ result)) < 0)
+                return BigInteger.valueOf(l).add(BigInteger.valueOf(r));
+            return result;
+        } else if (isIntegral(left) && isIntegral(right)) {
+            return narrow(BigDecimalMath.getBigInteger(left).add(BigDecimalMath.getBigInteger(right)));
+        } else {
+            return BigDecimalMath.getBigDecimal(left).add(BigDecimalMath.getBigDecimal(right));
+        }
+    }
+
+    public static Number subtract(Number left, Number right) {
+        if (isSmallIntegral(left) && isSmallIntegral(right)) {
+            long l = left.longValue(), r = right.longValue();
+            long result = l - r;
+            // Overflow happened if the operands have different signs and the result doesn't have the sign of the left one
+            if (((l ^ r) & (l ^ result)) < 0)
+                return BigInteger.valueOf(l).subtract(BigInteger.valueOf(r));
+            return result;
+        } else if (isIntegral(left) && isIntegral(right)) {
+            return narrow(BigDecimalMath.getBigInteger(left).subtract(BigDecimalMath.getBigInteger(right)));
+        } else {
+            return BigDecimalMath.getBigDecimal(left).subtract(BigDecimalMath.getBigDecimal(right));
+        }
+    }
+
+    public static Number multiply(Number left, Number right) {
+        if (isSmallIntegral(left) && isSmallIntegral(right)) {
+            long l = left.longValue(), r = right.longValue();
+            long high = Math.multiplyHigh(l, r);
+            long low = l * r;
+            // The product fits in a long if the high bits are only a sign extension of the low bits
+            if (high == (low >> (Long.SIZE - 1)))
+                return low;
+            return BigInteger.valueOf(l).multiply(BigInteger.valueOf(r));
+        } else if (isIntegral(left) && isIntegral(right)) {
+            return narrow(BigDecimalMath.getBigInteger(left).multiply(BigDecimalMath.getBigInteger(right)));
+        } else {
+            return BigDecimalMath.getBigDecimal(left).multiply(BigDecimalMath.getBigDecimal(right));
+        }
+    }
+
+    /**
+     * Compares two numbers exactly.
+     * @param left the first number
+     * @param right the second number
+     * @return a negative integer, zero, or a positive integer as the first number is less than, equal to, or greater
+     *         than the second
+     */
+    public static int compare(Number left, Number right) {
+        if (isSmallIntegral(left) && isSmallIntegral(right)) {
+            return Long.compare(left.longValue(), right.longValue());
+        } else if (isIntegral(left) && isIntegral(right)) {
+            return BigDecimalMath.getBigInteger(left).compareTo(BigDecimalMath.getBigInteger(right));
+        } else {
+            return BigDecimalMath.getBigDecimal(left).compareTo(BigDecimalMath.getBigDecimal(right));
+        }
+    }
+
+    /**
+     * @param n the number
+     * @return whether the number is equal to zero
+     */
+    public static boolean isZero(Number n) {
+        if (isSmallIntegral(n)) {
+            return n.longValue() == 0;
+        } else if (n instanceof BigInteger) {
+            return ((BigInteger) n).signum() == 0;
+        } else {
+            return BigDecimalMath.getBigDecimal(n).signum() == 0;
+        }
+    }
+
     public static Number abs(Number n) {
         if (n instanceof Long) {
-            return Math.abs(n.longValue());
+            return n.longValue() == Long.MIN_VALUE ? BigInteger.valueOf(n.longValue()).negate() : Math.abs(n.longValue());
         } else if (n instanceof Double) {
             return Math.abs(n.doubleValue());
         } else if (n instanceof BigInteger) {
@@ -35,7 +144,7 @@ public class NumberMath {
 
     public static Number negate(Number n) {
         if (n instanceof Long) {
-            return -n.longValue();
+            return n.longValue() == Long.MIN_VALUE ? BigInteger.valueOf(n.longValue()).negate() : -n.longValue();
         } else if (n instanceof Double) {
             return -n.doubleValue();
         } else if (n instanceof BigInteger) {
@@ -47,24 +156,24 @@ public class NumberMath {
     }
 
     public static Number sqrt(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.sqrt(n.doubleValue());
         } else {
-            return BigDecimalMath.sqrt(bigToBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT);
+            return BigDecimalMath.sqrt(BigDecimalMath.getBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT);
         }
     }
 
     public static Number ln(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.log(n.doubleValue());
         } else {
-            return BigDecimalMath.log(bigToBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT);
+            return BigDecimalMath.log(BigDecimalMath.getBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT);
         }
     }
 
     public static Number log(Number base, Number n) {
-        var bd = bigToBigDecimal(n);
-        var bdBase = bigToBigDecimal(base);
+        var bd = BigDecimalMath.getBigDecimal(n);
+        var bdBase = BigDecimalMath.getBigDecimal(base);
         if (bdBase.compareTo(BigDecimal.valueOf(2)) == 0) {
             return BigDecimalMath.log2(bd, BigDecimalMath.DEFAULT_CONTEXT);
         } else if (bdBase.compareTo(BigDecimal.TEN) == 0) {
@@ -120,82 +229,82 @@ public class NumberMath {
     }
 
     public static Number sin(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.sin(Math.toDegrees(n.doubleValue()));
         } else {
-            return BigDecimalMath.sin(bigToBigDecimal(n).multiply(DEGREES_TO_RADIANS), BigDecimalMath.DEFAULT_CONTEXT);
+            return BigDecimalMath.sin(BigDecimalMath.getBigDecimal(n).multiply(DEGREES_TO_RADIANS), BigDecimalMath.DEFAULT_CONTEXT);
         }
     }
 
     public static Number cos(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.cos(Math.toDegrees(n.doubleValue()));
         } else {
-            return BigDecimalMath.cos(bigToBigDecimal(n).multiply(DEGREES_TO_RADIANS), BigDecimalMath.DEFAULT_CONTEXT);
+            return BigDecimalMath.cos(BigDecimalMath.getBigDecimal(n).multiply(DEGREES_TO_RADIANS), BigDecimalMath.DEFAULT_CONTEXT);
         }
     }
 
     public static Number tan(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.tan(Math.toDegrees(n.doubleValue()));
         } else {
-            return BigDecimalMath.tan(bigToBigDecimal(n).multiply(DEGREES_TO_RADIANS), BigDecimalMath.DEFAULT_CONTEXT);
+            return BigDecimalMath.tan(BigDecimalMath.getBigDecimal(n).multiply(DEGREES_TO_RADIANS), BigDecimalMath.DEFAULT_CONTEXT);
         }
     }
 
     public static Number asin(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.asin(n.doubleValue());
         } else {
-            return BigDecimalMath.asin(bigToBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT).multiply(RADIANS_TO_DEGREES);
+            return BigDecimalMath.asin(BigDecimalMath.getBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT).multiply(RADIANS_TO_DEGREES);
         }
     }
 
     public static Number acos(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.acos(n.doubleValue());
         } else {
-            return BigDecimalMath.acos(bigToBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT).multiply(RADIANS_TO_DEGREES);
+            return BigDecimalMath.acos(BigDecimalMath.getBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT).multiply(RADIANS_TO_DEGREES);
         }
     }
 
     public static Number atan(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.atan(n.doubleValue());
         } else {
-            return BigDecimalMath.atan(bigToBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT).multiply(RADIANS_TO_DEGREES);
+            return BigDecimalMath.atan(BigDecimalMath.getBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT).multiply(RADIANS_TO_DEGREES);
         }
     }
 
     public static Number sinh(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.sinh(n.doubleValue());
         } else {
-            return BigDecimalMath.exp(bigToBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT)
-                    .subtract(BigDecimalMath.exp(bigToBigDecimal(n).negate(), BigDecimalMath.DEFAULT_CONTEXT))
+            return BigDecimalMath.exp(BigDecimalMath.getBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT)
+                    .subtract(BigDecimalMath.exp(BigDecimalMath.getBigDecimal(n).negate(), BigDecimalMath.DEFAULT_CONTEXT))
                     .divide(BigDecimal.valueOf(2), BigDecimalMath.DEFAULT_CONTEXT);
         }
     }
 
     public static Number cosh(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.cosh(n.doubleValue());
         } else {
-            return BigDecimalMath.exp(bigToBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT)
-                    .add(BigDecimalMath.exp(bigToBigDecimal(n).negate(), BigDecimalMath.DEFAULT_CONTEXT))
+            return BigDecimalMath.exp(BigDecimalMath.getBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT)
+                    .add(BigDecimalMath.exp(BigDecimalMath.getBigDecimal(n).negate(), BigDecimalMath.DEFAULT_CONTEXT))
                     .divide(BigDecimal.valueOf(2), BigDecimalMath.DEFAULT_CONTEXT);
         }
     }
 
     public static Number tanh(Number n) {
-        if (n instanceof Long || n instanceof Double) {
+        if (n instanceof Double) {
             return Math.tanh(n.doubleValue());
         } else {
-            return BigDecimalMath.exp(bigToBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT)
-                    .subtract(BigDecimalMath.exp(bigToBigDecimal(n).negate(), BigDecimalMath.DEFAULT_CONTEXT))
+            return BigDecimalMath.exp(BigDecimalMath.getBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT)
+                    .subtract(BigDecimalMath.exp(BigDecimalMath.getBigDecimal(n).negate(), BigDecimalMath.DEFAULT_CONTEXT))
                     .divide(
-                            BigDecimalMath.exp(bigToBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT)
-                                    .add(BigDecimalMath.exp(bigToBigDecimal(n).negate(), BigDecimalMath.DEFAULT_CONTEXT)),
+                            BigDecimalMath.exp(BigDecimalMath.getBigDecimal(n), BigDecimalMath.DEFAULT_CONTEXT)
+                                    .add(BigDecimalMath.exp(BigDecimalMath.getBigDecimal(n).negate(), BigDecimalMath.DEFAULT_CONTEXT)),
                             BigDecimalMath.DEFAULT_CONTEXT
                     );
         }
@@ -347,7 +456,7 @@ public class NumberMath {
             return d + Math.ulp(d);
         } else {
             assert n instanceof BigDecimal || n instanceof BigInteger;
-            BigDecimal bd = bigToBigDecimal(n);
+            BigDecimal bd = BigDecimalMath.getBigDecimal(n);
             BigDecimal nudge = BigDecimal.ONE.scaleByPowerOfTen(-BigDecimalMath.DEFAULT_CONTEXT.getPrecision());
             return bd.add(nudge);
         }
@@ -409,10 +518,6 @@ public class NumberMath {
         return computedPrimes;
     }
 
-    private static BigDecimal bigToBigDecimal(Number n) {
-        return n instanceof BigDecimal ? (BigDecimal) n : new BigDecimal((BigInteger) n);
-    }
-
     public static ArrayList<Integer> getCachedPrimes() {
         return cachedPrimes;
     }
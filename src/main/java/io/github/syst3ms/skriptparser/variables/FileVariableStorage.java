@@ -0,0 +1,447 @@
+package io.github.syst3ms.skriptparser.variables;
+
+import io.github.syst3ms.skriptparser.types.TypeManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link VariableStorage} saving variables inside of a folder, using two files :
+ * <ul>
+ *     <li>a snapshot, containing the value of every variable at some point in time ;</li>
+ *     <li>a log, to which every change made since that snapshot is appended.</li>
+ * </ul>
+ * Changes are first collected in memory, where multiple changes to the same variable are merged together, and are
+ * written to the log periodically by a dedicated thread. Once the log grows too large, it is compacted into a new
+ * snapshot. At startup, the snapshot is read, then the log is replayed on top of it. Reading stops at the first
+ * record that is corrupted, and values that can't be decoded are skipped.
+ *
+ * Strings, booleans and numbers are stored in a compact format. Any other value must be {@link Serializable} in order
+ * to be saved ; other values are not persisted. Only classes of registered types and basic classes of the standard
+ * library can be deserialized.
+ *
+ * Errors that don't prevent loading or saving the rest of the variables, such as a value that can't be decoded or a
+ * failed periodical write, are reported to an error handler, which prints them to the standard error by default.
+ */
+public class FileVariableStorage implements VariableStorage {
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+    /**
+     * Prints errors to the standard error
+     */
+    public static final BiConsumer<String, Exception> DEFAULT_ERROR_HANDLER = (message, e) -> System.err.println(message + ": " + e);
+    private static final String SNAPSHOT_FILE = "variables.snapshot";
+    private static final String LOG_FILE = "variables.log";
+    /**
+     * The log is never compacted as long as it is smaller than this, in bytes
+     */
+    private static final long MIN_COMPACTION_SIZE = 1 << 20;
+
+    // Record types
+    private static final byte SET = 0;
+    private static final byte DELETE = 1;
+    // Value types
+    private static final byte STRING = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BIG_INTEGER = 4;
+    private static final byte BIG_DECIMAL = 5;
+    private static final byte SERIALIZED = 6;
+
+    private static final Object DELETED = new Object();
+    private static final ObjectInputFilter DESERIALIZATION_FILTER = FileVariableStorage::filterDeserialization;
+    private static final List<String> DESERIALIZABLE_PACKAGES = List.of("java.lang", "java.math", "java.time", "java.util");
+    private static final int MAX_DESERIALIZATION_DEPTH = 32;
+    private static final long MAX_DESERIALIZATION_REFERENCES = 1 << 16;
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final Duration flushInterval;
+    private final BiConsumer<String, Exception> errorHandler;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "Variable storage");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Changes that weren't written yet, in order
+    private final Object lock = new Object();
+    private LinkedHashMap<String, Object> pending = new LinkedHashMap<>();
+
+    // Only used by the flushing thread once loaded
+    private final Map<String, byte[]> state = new HashMap<>();
+    @Nullable
+    private DataOutputStream log;
+    private long snapshotSize;
+    // Whether a write to the log failed, in which case the log may end with a partial record
+    private boolean logCorrupted = false;
+
+    /**
+     * @param folder the folder to store the variables in. It is created if it doesn't exist.
+     */
+    public FileVariableStorage(Path folder) {
+        this(folder, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * @param folder the folder to store the variables in. It is created if it doesn't exist.
+     * @param flushInterval the delay between two writes to the disk
+     */
+    public FileVariableStorage(Path folder, Duration flushInterval) {
+        this(folder, flushInterval, DEFAULT_ERROR_HANDLER);
+    }
+
+    /**
+     * @param folder the folder to store the variables in. It is created if it doesn't exist.
+     * @param flushInterval the delay between two writes to the disk
+     * @param errorHandler the handler of the errors that happen while loading or saving variables, given a message
+     *                     describing what failed and the cause
+     */
+    public FileVariableStorage(Path folder, Duration flushInterval, BiConsumer<String, Exception> errorHandler) {
+        this.snapshotFile = folder.resolve(SNAPSHOT_FILE);
+        this.logFile = folder.resolve(LOG_FILE);
+        this.flushInterval = flushInterval;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public void load(BiConsumer<String, Object> loader) throws IOException {
+        Files.createDirectories(snapshotFile.getParent());
+        /*
+         * Both files are read into memory rather than memory-mapped : the snapshot is replaced by compact() right
+         * afterwards, and a file that is still mapped can't be replaced on every platform.
+         */
+        if (Files.exists(snapshotFile))
+            readRecords(snapshotFile);
+        if (Files.exists(logFile))
+            readRecords(logFile);
+        for (var iterator = state.entrySet().iterator(); iterator.hasNext(); ) {
+            var entry = iterator.next();
+            var value = decode(entry.getKey(), entry.getValue());
+            if (value.isPresent()) {
+                loader.accept(entry.getKey(), value.get());
+            } else {
+                iterator.remove();
+            }
+        }
+        // This also gets rid of anything left over by a write that was interrupted
+        compact();
+        var interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void save(String name, @Nullable Object value) {
+        synchronized (lock) {
+            record(pending, name, value == null ? DELETED : value);
+        }
+    }
+
+    /**
+     * Adds a change to a batch of changes, merging it with the changes it makes irrelevant
+     */
+    private static void record(LinkedHashMap<String, Object> changes, String name, Object value) {
+        if (name.endsWith(Variables.LIST_SEPARATOR + "*")) {
+            // Pending changes to elements of this list don't matter anymore
+            var prefix = name.substring(0, name.length() - 1);
+            changes.keySet().removeIf(n -> n.startsWith(prefix));
+            changes.put(name, DELETED);
+        } else {
+            changes.put(name, value);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            // Anything thrown from here would cancel the next flushes
+            errorHandler.accept("Error while saving variables", e);
+        }
+    }
+
+    private synchronized void flush() throws IOException {
+        LinkedHashMap<String, Object> changes;
+        synchronized (lock) {
+            if (log == null || pending.isEmpty() && !logCorrupted)
+                return;
+            changes = pending;
+            pending = new LinkedHashMap<>();
+        }
+        try {
+            if (logCorrupted)
+                compact();
+            // The whole batch is encoded before anything is written, so that a value failing to encode can't leave
+            // a partial batch behind
+            var batch = new ByteArrayOutputStream();
+            var output = new DataOutputStream(batch);
+            Map<String, byte[]> encoded = new LinkedHashMap<>();
+            for (var change : changes.entrySet()) {
+                var name = change.getKey();
+                var value = change.getValue() == DELETED ? Optional.<byte[]>empty() : encode(change.getValue());
+                if (value.isPresent()) {
+                    writeRecord(output, name, value.get());
+                } else {
+                    // Values that can't be saved are deleted, so that an outdated value doesn't come back after a restart
+                    output.writeByte(DELETE);
+                    writeString(output, name);
+                }
+                encoded.put(name, value.orElse(null));
+            }
+            try {
+                batch.writeTo(log);
+                log.flush();
+            } catch (IOException e) {
+                // The log may now end with part of the batch, which compacting gets rid of
+                logCorrupted = true;
+                throw e;
+            }
+            for (var change : encoded.entrySet())
+                apply(change.getKey(), change.getValue());
+        } catch (IOException | RuntimeException e) {
+            // Nothing of this batch was saved, so it is tried again along with the changes made since
+            synchronized (lock) {
+                for (var change : pending.entrySet())
+                    record(changes, change.getKey(), change.getValue());
+                pending = changes;
+            }
+            throw e;
+        }
+        if (log.size() > MIN_COMPACTION_SIZE && log.size() > snapshotSize)
+            compact();
+    }
+
+    /**
+     * Writes all variables to a new snapshot, and starts a new log
+     */
+    private synchronized void compact() throws IOException {
+        if (log != null)
+            log.close();
+        var temporary = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            for (var entry : state.entrySet()) {
+                writeRecord(output, entry.getKey(), entry.getValue());
+            }
+            snapshotSize = output.size();
+        }
+        Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                logFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+        )));
+        logCorrupted = false;
+    }
+
+    private void readRecords(Path file) throws IOException {
+        var input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)));
+        while (input.available() > 0) {
+            try {
+                var type = input.readByte();
+                var name = readString(input);
+                if (type == SET) {
+                    apply(name, readBytes(input));
+                } else if (type == DELETE) {
+                    apply(name, null);
+                } else {
+                    throw new StreamCorruptedException("Unknown record type " + type);
+                }
+            } catch (EOFException e) {
+                // The last record was only partially written
+                return;
+            } catch (StreamCorruptedException e) {
+                // Nothing after a corrupted record can be trusted
+                errorHandler.accept("Ignoring the end of the corrupted variable file " + file, e);
+                return;
+            }
+        }
+    }
+
+    private void apply(String name, @Nullable byte[] value) {
+        if (name.endsWith(Variables.LIST_SEPARATOR + "*")) {
+            var prefix = name.substring(0, name.length() - 1);
+            state.keySet().removeIf(n -> n.startsWith(prefix));
+        } else if (value == null) {
+            state.remove(name);
+        } else {
+            state.put(name, value);
+        }
+    }
+
+    private static void writeRecord(DataOutputStream output, String name, byte[] value) throws IOException {
+        output.writeByte(SET);
+        writeString(output, name);
+        writeBytes(output, value);
+    }
+
+    private static Optional<byte[]> encode(Object value) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+        if (value instanceof String) {
+            output.writeByte(STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            output.writeByte(LONG);
+            output.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigInteger) {
+            output.writeByte(BIG_INTEGER);
+            writeBytes(output, ((BigInteger) value).toByteArray());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(BIG_DECIMAL);
+            output.writeInt(((BigDecimal) value).scale());
+            writeBytes(output, ((BigDecimal) value).unscaledValue().toByteArray());
+        } else if (value instanceof Serializable) {
+            output.writeByte(SERIALIZED);
+            var serialized = new ByteArrayOutputStream();
+            try (var objectOutput = new ObjectOutputStream(serialized)) {
+                objectOutput.writeObject(value);
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+            writeBytes(output, serialized.toByteArray());
+        } else {
+            return Optional.empty();
+        }
+        output.flush();
+        return Optional.of(bytes.toByteArray());
+    }
+
+    /**
+     * @param name the name of the variable, for error reporting
+     * @param value the encoded value
+     * @return the decoded value, or empty if it couldn't be decoded
+     */
+    private Optional<Object> decode(String name, byte[] value) {
+        var input = new DataInputStream(new ByteArrayInputStream(value));
+        try {
+            switch (input.readByte()) {
+                case STRING:
+                    return Optional.of(readString(input));
+                case BOOLEAN:
+                    return Optional.of(input.readBoolean());
+                case LONG:
+                    return Optional.of(input.readLong());
+                case DOUBLE:
+                    return Optional.of(input.readDouble());
+                case BIG_INTEGER:
+                    return Optional.of(new BigInteger(readBytes(input)));
+                case BIG_DECIMAL:
+                    var scale = input.readInt();
+                    return Optional.of(new BigDecimal(new BigInteger(readBytes(input)), scale));
+                case SERIALIZED:
+                    try (var objectInput = new ObjectInputStream(new ByteArrayInputStream(readBytes(input)))) {
+                        objectInput.setObjectInputFilter(DESERIALIZATION_FILTER);
+                        return Optional.of(objectInput.readObject());
+                    } catch (ClassNotFoundException e) {
+                        // The class of this value isn't available anymore
+                        return Optional.empty();
+                    }
+                default:
+                    throw new StreamCorruptedException("Unknown value type");
+            }
+        } catch (IOException | RuntimeException e) {
+            // A NumberFormatException for example, if the bytes of a number are corrupted
+            errorHandler.accept("Couldn't load the value of the variable '" + name + "'", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Only lets the classes of registered types, along with basic classes of the standard library, be deserialized
+     */
+    private static ObjectInputFilter.Status filterDeserialization(ObjectInputFilter.FilterInfo info) {
+        if (info.depth() > MAX_DESERIALIZATION_DEPTH || info.references() > MAX_DESERIALIZATION_REFERENCES)
+            return ObjectInputFilter.Status.REJECTED;
+        var c = info.serialClass();
+        if (c == null)
+            return ObjectInputFilter.Status.UNDECIDED;
+        while (c.isArray())
+            c = c.getComponentType();
+        if (c.isPrimitive() || DESERIALIZABLE_PACKAGES.contains(c.getPackageName()))
+            return ObjectInputFilter.Status.ALLOWED;
+        for (var type : TypeManager.getClassToTypeMap().keySet()) {
+            if (type != Object.class && type.isAssignableFrom(c))
+                return ObjectInputFilter.Status.ALLOWED;
+        }
+        return ObjectInputFilter.Status.REJECTED;
+    }
+
+    private static void writeString(DataOutputStream output, String s) throws IOException {
+        writeBytes(output, s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return new String(readBytes(input), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads a length-prefixed array of bytes, checking that the length fits in the remaining input
+     * @param input the input, which must know exactly how many bytes it has left
+     * @return the bytes
+     */
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        var length = input.readInt();
+        if (length < 0)
+            throw new StreamCorruptedException("Negative length " + length);
+        if (length > input.available())
+            throw new EOFException();
+        var bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+}
@@ -1,68 +1,88 @@
 package io.github.syst3ms.skriptparser.variables;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
-import java.util.regex.Pattern;
+import java.util.function.BiPredicate;
 
 class VariableMap {
     /**
      * If all indexes are numerical, they should be ordered likewise. If not, natural order should take place.
+     * Numerical indexes have no leading zeroes, so comparing their length first is enough to compare them numerically,
+     * without any risk of overflowing.
      */
-    private static final Comparator<String> NUMERIC_INDEX_COMPARATOR = Comparator.comparingInt(Integer::parseInt);
+    private static final Comparator<String> NUMERIC_INDEX_COMPARATOR = Comparator.comparingInt(String::length)
+            .thenComparing(Comparator.naturalOrder());
 
-    private final Map<String, Object> map = new HashMap<>(); // Ordering is not important right now
+    // Every variable is a node of this tree, whether it is part of a list or not
+    private final ListNode root = new ListNode();
 
-    private static String[] splitList(String name) {
-        return Pattern.compile(Pattern.quote(Variables.LIST_SEPARATOR)).split(name);
+    private static List<String> splitList(String name) {
+        List<String> split = new ArrayList<>();
+        var start = 0;
+        int index;
+        while ((index = name.indexOf(Variables.LIST_SEPARATOR, start)) != -1) {
+            split.add(name.substring(start, index));
+            start = index + Variables.LIST_SEPARATOR.length();
+        }
+        split.add(name.substring(start));
+        return split;
+    }
+
+    private static boolean isNumericIndex(String index) {
+        if (index.isEmpty() || index.charAt(0) < '1' || index.charAt(0) > '9')
+            return false;
+        for (var i = 1; i < index.length(); i++) {
+            var c = index.charAt(i);
+            if (c < '0' || c > '9')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the value of the requested variable, without wrapping it.
+     * @param name the name of the variable
+     * @return the value of the variable, or null if the variable is not set
+     * @see #getVariable(String)
+     */
+    @Nullable
+    public Object getSingleVariable(String name) {
+        if (name.endsWith("*"))
+            return getVariable(name).orElse(null);
+        var node = findNode(name);
+        return node == null ? null : node.value;
     }
 
     /**
      * Returns the internal value of the requested variable.
-     * <p>
-     * <b>Do not modify the returned value!</b>
      *
      * @param name name of the variable
      * @return an Object for a normal Variable or a Map<String, Object> for a list variable, or null if the variable is not set.
+     * The map of a list variable is an unmodifiable snapshot sorted by index, where elements that have elements of
+     * their own are themselves represented by a map, whose value for the {@literal null} key is the value of the
+     * element. Changes made to the list afterwards are not reflected in the snapshot.
      */
-    @SuppressWarnings("unchecked")
     public Optional<Object> getVariable(String name) {
-        if (!name.endsWith("*")) {
-            return Optional.ofNullable(map.get(name));
-        } else {
-            var split = splitList(name);
-            var current = map;
-            for (var i = 0; i < split.length; i++) {
-                var n = split[i];
-                if (n.equals("*")) {
-                    assert i == split.length - 1;
-
-                    // We sort the indexes as best as we can
-                    boolean numerical = current.keySet().stream()
-                            .allMatch(val -> val.matches("[1-9][0-9]*"));
-                    var treeMap = new TreeMap<>(numerical ? NUMERIC_INDEX_COMPARATOR : Comparator.<String>naturalOrder());
-                    treeMap.putAll(current);
-
-                    return Optional.of(treeMap);
-                }
-                var o = current.get(n);
-                if (o == null) {
-                    return Optional.empty();
-                }
-                if (o instanceof Map) {
-                    current = (Map<String, Object>) o;
-                    assert i != split.length - 1;
-                } else {
-                    return Optional.empty();
-                }
-            }
+        if (!name.endsWith("*"))
+            return Optional.ofNullable(getSingleVariable(name));
+        assert name.endsWith(Variables.LIST_SEPARATOR + "*");
+        var node = findNode(name.substring(0, name.length() - Variables.LIST_SEPARATOR.length() - 1));
+        if (node == null || !node.hasChildren())
             return Optional.empty();
-        }
+        // The node itself is the snapshot : it won't ever change again, since it is copied as soon as the list changes
+        node.shared = true;
+        return Optional.of(node);
     }
 
     /**
@@ -71,91 +91,285 @@ class VariableMap {
 	 * @param name  The variable's name. Can be a "list variable::*" (<tt>value</tt> must be <tt>null</tt> in this case)
 	 * @param value The variable's value. Use <tt>null</tt> to delete the variable.
 	 */
-    @SuppressWarnings("unchecked")
     public void setVariable(String name, @Nullable Object value) {
-        if (!name.endsWith("*")) {
-            if (value == null) {
-                map.remove(name);
-            } else {
-                map.put(name, value);
+        var split = splitList(name);
+        var last = split.size() - 1;
+        if (split.get(last).equals("*")) {
+            assert value == null;
+            var node = root.getChild(split.subList(0, last), false);
+            if (node != null) {
+                node.clearChildren();
+                root.prune(split.subList(0, last));
+            }
+        } else if (value != null) {
+            var node = root.getChild(split, true);
+            assert node != null;
+            node.value = value;
+        } else {
+            var node = root.getChild(split, false);
+            if (node != null) {
+                node.value = null;
+                root.prune(split);
             }
         }
-        var split = splitList(name);
-        var parent = map;
-        for (var i = 0; i < split.length; i++) {
-            var n = split[i];
-            var current = parent.get(n);
-            if (current == null) {
-                if (i == split.length - 1) {
-                    if (value != null) {
-                        parent.put(n, value);
-                    }
-                    break;
-                } else if (value != null) {
-                    parent.put(n, current = new HashMap<>());
-                    parent = (Map<String, Object>) current;
-                } else {
-                    break;
-                }
-            } else if (current instanceof Map) {
-                if (i == split.length - 1) {
-                    if (value == null) {
-                        ((Map<String, Object>) current).remove(null);
-                    } else {
-                        ((Map<String, Object>) current).put(null, value);
-                    }
-                    break;
-                } else if (i == split.length - 2 && split[i + 1].equals("*")) {
-                    assert value == null;
-                    deleteFromHashMap(String
-                        .join(Variables.LIST_SEPARATOR, Arrays.copyOfRange(split, 0, i + 1)), (Map<String, Object>) current);
-                    var v = ((Map<String, Object>) current).get(null);
-                    if (v == null) {
-                        parent.remove(n);
-                    } else {
-                        parent.put(n, v);
+    }
+
+    /**
+     * Adds values to a list variable, each one at the smallest numerical index that isn't used yet.
+     * @param name the name of the list variable, ending with "::*"
+     * @param values the values to add
+     * @return the names of the variables the values were set to, in the same order
+     */
+    public List<String> addToList(String name, Object[] values) {
+        assert name.endsWith(Variables.LIST_SEPARATOR + "*");
+        var prefix = name.substring(0, name.length() - 1);
+        var node = root.getChild(splitList(prefix.substring(0, prefix.length() - Variables.LIST_SEPARATOR.length())), true);
+        assert node != null;
+        List<String> added = new ArrayList<>(values.length);
+        var index = 1;
+        for (var value : values) {
+            index = node.nextFreeIndex(index);
+            var child = node.getChild(List.of(String.valueOf(index)), true);
+            assert child != null;
+            child.value = value;
+            added.add(prefix + index);
+            index++;
+        }
+        return added;
+    }
+
+    /**
+     * Removes values from a list variable. Elements that have elements of their own keep them.
+     * @param name the name of the list variable, ending with "::*"
+     * @param values the values to remove
+     * @param all whether to remove all the elements equal to each value, or only the first one
+     * @param equal whether an element of the list is equal to one of the values to remove
+     * @return the names of the variables that were removed
+     */
+    public List<String> removeFromList(String name, Object[] values, boolean all, BiPredicate<Object, Object> equal) {
+        assert name.endsWith(Variables.LIST_SEPARATOR + "*");
+        var prefix = name.substring(0, name.length() - 1);
+        var path = splitList(prefix.substring(0, prefix.length() - Variables.LIST_SEPARATOR.length()));
+        var node = root.getChild(path, false);
+        if (node == null)
+            return List.of();
+        Set<String> removed = new LinkedHashSet<>();
+        if (all) {
+            for (var entry : node.entrySet()) {
+                for (var value : values) {
+                    if (equal.test(entry.getValue(), value)) {
+                        removed.add(entry.getKey());
+                        break;
                     }
-                    break;
-                } else {
-                    parent = (Map<String, Object>) current;
                 }
-            } else {
-                if (i == split.length - 1) {
-                    if (value == null) {
-                        parent.remove(n);
-                    } else {
-                        parent.put(n, value);
+            }
+        } else {
+            for (var value : values) {
+                for (var entry : node.entrySet()) {
+                    if (equal.test(entry.getValue(), value)) {
+                        removed.add(entry.getKey());
+                        break;
                     }
-                    break;
-                } else if (value != null) {
-                    Map<String, Object> c = new HashMap<>();
-                    c.put(null, current);
-                    parent.put(n, c);
-                    parent = c;
-                } else {
-                    break;
                 }
             }
         }
+        List<String> names = new ArrayList<>(removed.size());
+        for (var index : removed) {
+            var child = node.getChild(List.of(index), false);
+            assert child != null;
+            child.value = null;
+            node.prune(List.of(index));
+            names.add(prefix + index);
+        }
+        root.prune(path);
+        return names;
     }
 
     /**
      * Clears all variables
      */
     public void clearVariables() {
-        map.clear();
+        root.clearChildren();
+    }
+
+    /**
+     * @param name the name of a variable, which isn't a "list variable::*"
+     * @return the node of the variable, or {@literal null} if neither the variable nor any of its elements are set
+     */
+    @Nullable
+    private ListNode findNode(String name) {
+        var current = root;
+        var start = 0;
+        while (true) {
+            var end = name.indexOf(Variables.LIST_SEPARATOR, start);
+            current = current.getChild(end == -1 ? name.substring(start) : name.substring(start, end));
+            if (current == null || end == -1)
+                return current;
+            start = end + Variables.LIST_SEPARATOR.length();
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    private void deleteFromHashMap(String parent, Map<String, Object> current) {
-        for (var e : current.entrySet()) {
-            if (e.getKey() == null) {
-                continue;
+    /**
+     * A node of the tree of list variables. A node has a value, which is the value of the variable it represents,
+     * and children, which are the elements of the list variable it represents.
+     *
+     * Children are kept sorted both by natural order and, for those whose index is a number, by numerical order,
+     * so that a list can always be read in the right order without having to sort it.
+     */
+    static class ListNode extends AbstractMap<String, Object> {
+        @Nullable
+        private Object value;
+        // Whether this node was handed out as the value of a list variable, in which case it must not change anymore
+        private boolean shared;
+        private final TreeMap<String, ListNode> children = new TreeMap<>();
+        private final TreeMap<String, ListNode> numericChildren = new TreeMap<>(NUMERIC_INDEX_COMPARATOR);
+        private final Set<Entry<String, Object>> entrySet = new EntrySet();
+
+        boolean hasChildren() {
+            return !children.isEmpty();
+        }
+
+        @Nullable
+        ListNode getChild(String index) {
+            return children.get(index);
+        }
+
+        /**
+         * Returns the node along the given path, so that it can be changed. This node must not be
+         * {@linkplain #shared shared} : shared nodes along the path are replaced by copies of themselves.
+         * @param path the indices leading to the node
+         * @param create whether to create missing nodes
+         * @return the node, or {@literal null} if it doesn't exist and mustn't be created
+         */
+        @Nullable
+        ListNode getChild(List<String> path, boolean create) {
+            assert !shared;
+            var current = this;
+            for (var index : path) {
+                var child = current.children.get(index);
+                if (child == null) {
+                    if (!create)
+                        return null;
+                    child = new ListNode();
+                    current.putChild(index, child);
+                } else if (child.shared) {
+                    child = child.copy();
+                    current.putChild(index, child);
+                }
+                current = child;
             }
-            map.remove(parent + Variables.LIST_SEPARATOR + e.getKey());
-            var val = e.getValue();
-            if (val instanceof Map) {
-                deleteFromHashMap(parent + Variables.LIST_SEPARATOR + e.getKey(), (Map<String, Object>) val);
+            return current;
+        }
+
+        private void putChild(String index, ListNode child) {
+            children.put(index, child);
+            if (isNumericIndex(index))
+                numericChildren.put(index, child);
+        }
+
+        /**
+         * Removes the nodes along the given path that have neither a value nor children anymore
+         */
+        void prune(List<String> path) {
+            if (path.isEmpty())
+                return;
+            var index = path.get(0);
+            var child = children.get(index);
+            if (child == null)
+                return;
+            child.prune(path.subList(1, path.size()));
+            if (child.value == null && !child.hasChildren()) {
+                children.remove(index);
+                numericChildren.remove(index);
+            }
+        }
+
+        /**
+         * @return a copy of this shared node that can be changed. The children are not copied, but are shared
+         * between both nodes from then on, so that they get copied in turn if they are changed.
+         */
+        private ListNode copy() {
+            var copy = new ListNode();
+            copy.value = value;
+            copy.children.putAll(children);
+            copy.numericChildren.putAll(numericChildren);
+            for (var child : children.values())
+                child.shared = true;
+            return copy;
+        }
+
+        void clearChildren() {
+            children.clear();
+            numericChildren.clear();
+        }
+
+        /**
+         * @param start the smallest index to look for
+         * @return the smallest numerical index that is greater or equal to the given one and is not used by any element
+         */
+        int nextFreeIndex(int start) {
+            var size = numericChildren.size();
+            // Indexes are distinct positive numbers, so if the largest one is the amount of them, there are no gaps
+            if (size == 0 || numericChildren.lastKey().equals(String.valueOf(size)))
+                return Math.max(start, size + 1);
+            var i = start;
+            while (numericChildren.containsKey(String.valueOf(i)))
+                i++;
+            return i;
+        }
+
+        @Nullable
+        private Object exposed() {
+            return hasChildren() ? this : value;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (key == null)
+                return value;
+            var child = children.get(key);
+            return child == null ? null : child.exposed();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && children.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return children.size();
+        }
+
+        @NotNull
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return entrySet;
+        }
+
+        private class EntrySet extends AbstractSet<Entry<String, Object>> {
+            @NotNull
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                // Numerical order only applies if all indexes are numerical
+                var iterator = (numericChildren.size() == children.size() ? numericChildren : children).entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        var entry = iterator.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().exposed());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return children.size();
             }
         }
     }
@@ -0,0 +1,39 @@
+package io.github.syst3ms.skriptparser.variables;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.function.BiConsumer;
+
+/**
+ * A place where global variables are persisted, so that they survive a restart.
+ * Every change made to a global variable is passed on to the storage, which is then free to save it however and
+ * whenever it wants.
+ * @see Variables#setStorage(VariableStorage)
+ * @see FileVariableStorage
+ */
+public interface VariableStorage extends Closeable {
+    /**
+     * Loads all variables that were previously saved.
+     * @param loader the consumer accepting the name and the value of every variable
+     * @throws IOException if the variables couldn't be read
+     */
+    void load(BiConsumer<String, Object> loader) throws IOException;
+
+    /**
+     * Saves a change made to a global variable. This is called on the thread making the change, which is typically
+     * executing a script : implementations must be thread-safe and must not block on I/O here.
+     * @param name the name of the variable. If it is a list variable ending with {@code ::*}, the value is always
+     *             {@literal null}, and every element of that list has been deleted.
+     * @param value the new value of the variable, or {@literal null} if it was deleted
+     */
+    void save(String name, @Nullable Object value);
+
+    /**
+     * Saves all pending changes and releases all resources held by this storage.
+     * @throws IOException if the pending changes couldn't be written
+     */
+    @Override
+    void close() throws IOException;
+}
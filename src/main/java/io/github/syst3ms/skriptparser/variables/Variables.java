@@ -1,5 +1,6 @@
 package io.github.syst3ms.skriptparser.variables;
 
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.TriggerContext;
 import io.github.syst3ms.skriptparser.lang.Variable;
@@ -9,9 +10,11 @@ import io.github.syst3ms.skriptparser.log.SkriptLogger;
 import io.github.syst3ms.skriptparser.parsing.ParserState;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
@@ -22,8 +25,14 @@ public class Variables {
     public static final String LOCAL_VARIABLE_TOKEN = "_";
     public static final Pattern REGEX_PATTERN = Pattern.compile("\\{([^{}]|%\\{|}%)+}");
     private static final VariableMap variableMap = new VariableMap();
-    // Yes, I know it should be trigger-specific, but I haven't got to that part yet, ok ? TODO make the change
-    private static final Map<TriggerContext, VariableMap> localVariables = new HashMap<>();
+    @Nullable
+    private static VariableStorage storage;
+    /*
+     * Local variables belong to a single execution of a trigger, and are stored inside of its ExecutionFrame.
+     * Frames forked from it share the same local variables. Code that isn't part of any execution has no local
+     * variables : setting one does nothing, so that nothing outlives the code that set it.
+     */
+    private static final Object LOCAL_VARIABLES = new Object();
 
     public static <T> Optional<? extends Expression<T>> parseVariable(String s, Class<? extends T> types, ParserState parserState, SkriptLogger logger) {
         s = s.strip();
@@ -81,15 +90,47 @@ public class Variables {
 	 *
 	 * @param name the name of the variable
 	 * @return an Object for a normal Variable or a Map<String, Object> for a list variable, or null if the variable is not set.
+	 * The map of a list variable is an unmodifiable snapshot, which can safely be read while the list is being changed.
 	 */
     public static Optional<Object> getVariable(String name, TriggerContext e, boolean local) {
         if (local) {
-            var map = localVariables.get(e);
-            if (map == null)
+            var frame = ExecutionFrame.current();
+            if (frame.isEmpty())
                 return Optional.empty();
-            return map.getVariable(name);
+            VariableMap map = frame.get().getRoot().computeIfAbsent(LOCAL_VARIABLES, VariableMap::new);
+            synchronized (map) {
+                return map.getVariable(name);
+            }
         } else {
-            return variableMap.getVariable(name);
+            synchronized (variableMap) {
+                return variableMap.getVariable(name);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the requested variable, without wrapping it.
+     * <p>
+     * <b>Do not modify the returned value!</b>
+     *
+     * @param name the name of the variable
+     * @return the value of the variable, or null if the variable is not set
+     * @see #getVariable(String, TriggerContext, boolean)
+     */
+    @Nullable
+    public static Object getSingleVariable(String name, TriggerContext e, boolean local) {
+        if (local) {
+            var frame = ExecutionFrame.current().orElse(null);
+            if (frame == null)
+                return null;
+            VariableMap map = frame.getRoot().computeIfAbsent(LOCAL_VARIABLES, VariableMap::new);
+            synchronized (map) {
+                return map.getSingleVariable(name);
+            }
+        } else {
+            synchronized (variableMap) {
+                return variableMap.getSingleVariable(name);
+            }
         }
     }
 
@@ -102,12 +143,92 @@ public class Variables {
     public static void setVariable(String name, @Nullable Object value, @Nullable TriggerContext e, boolean local) {
         if (local) {
             assert e != null : name;
-            var map = localVariables.get(e);
-            if (map == null)
-                localVariables.put(e, map = new VariableMap());
-            map.setVariable(name, value);
+            var frame = ExecutionFrame.current();
+            if (frame.isEmpty())
+                return; // Not running any trigger
+            VariableMap map = frame.get().getRoot().computeIfAbsent(LOCAL_VARIABLES, VariableMap::new);
+            synchronized (map) {
+                map.setVariable(name, value);
+            }
+        } else {
+            synchronized (variableMap) {
+                variableMap.setVariable(name, value);
+            }
+            if (storage != null)
+                storage.save(name, value);
+        }
+    }
+
+    /**
+     * Adds values to a list variable, each one at the smallest numerical index that isn't used yet, without reading
+     * the whole list first.
+     *
+     * @param name the name of the list variable, ending with "::*"
+     * @param values the values to add
+     * @param e the event
+     * @param local whether the variable is local
+     */
+    public static void addToList(String name, Object[] values, @Nullable TriggerContext e, boolean local) {
+        var added = changeMap(local, map -> map.addToList(name, values));
+        if (!local && storage != null) {
+            for (var i = 0; i < added.size(); i++)
+                storage.save(added.get(i), values[i]);
+        }
+    }
+
+    /**
+     * Removes values from a list variable, without reading the whole list first.
+     *
+     * @param name the name of the list variable, ending with "::*"
+     * @param values the values to remove
+     * @param all whether to remove all the elements equal to each value, or only the first one
+     * @param equal whether an element of the list is equal to one of the values to remove
+     * @param e the event
+     * @param local whether the variable is local
+     */
+    public static void removeFromList(String name, Object[] values, boolean all, BiPredicate<Object, Object> equal,
+                                      @Nullable TriggerContext e, boolean local) {
+        var removed = changeMap(local, map -> map.removeFromList(name, values, all, equal));
+        if (!local && storage != null) {
+            for (var variable : removed)
+                storage.save(variable, null);
+        }
+    }
+
+    /**
+     * Changes the map holding either local or global variables, while it is locked.
+     * @return the names of the changed variables
+     */
+    private static List<String> changeMap(boolean local, Function<VariableMap, List<String>> change) {
+        VariableMap map;
+        if (local) {
+            var frame = ExecutionFrame.current();
+            if (frame.isEmpty())
+                return List.of(); // Not running any trigger
+            map = frame.get().getRoot().computeIfAbsent(LOCAL_VARIABLES, VariableMap::new);
         } else {
-            variableMap.setVariable(name, value);
+            map = variableMap;
+        }
+        synchronized (map) {
+            return change.apply(map);
+        }
+    }
+
+    /**
+     * Sets the storage global variables are saved to, and loads all the variables it contains.
+     * Any previously set storage is closed.
+     * @param storage the storage, or {@literal null} to only keep variables in memory
+     * @throws IOException if the variables couldn't be loaded, or the previous storage couldn't be closed
+     */
+    public static void setStorage(@Nullable VariableStorage storage) throws IOException {
+        if (Variables.storage != null)
+            Variables.storage.close();
+        Variables.storage = null;
+        if (storage != null) {
+            synchronized (variableMap) {
+                storage.load(variableMap::setVariable);
+            }
+            Variables.storage = storage;
         }
     }
 
@@ -115,6 +236,8 @@ public class Variables {
      * Clears all variables.
      */
     public static void clearVariables() {
-        variableMap.clearVariables();
+        synchronized (variableMap) {
+            variableMap.clearVariables();
+        }
     }
 }
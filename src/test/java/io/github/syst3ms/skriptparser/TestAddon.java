@@ -25,6 +25,11 @@ public class TestAddon extends SkriptAddon {
         }
     }
 
+    @Override
+    public void unhandleTrigger(Trigger trigger) {
+        testTriggers.remove(trigger);
+    }
+
     @Override
     public void finishedLoading() {
         for (Trigger trigger : testTriggers) {
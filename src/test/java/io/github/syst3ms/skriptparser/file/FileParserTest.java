@@ -4,6 +4,7 @@ import io.github.syst3ms.skriptparser.log.SkriptLogger;
 import io.github.syst3ms.skriptparser.util.FileUtils;
 import org.junit.Test;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -11,6 +12,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class FileParserTest {
     private FileElement simpleFileLine(String content, int indentation, int line) {
@@ -100,6 +102,88 @@ public class FileParserTest {
         );
     }
 
+    @Test
+    public void parseMalformedLines() {
+        var logger = new SkriptLogger();
+        // The lines after an over-indented line are still parsed, once
+        assertEquals(
+            Arrays.asList(
+                fileSection(
+                    "section",
+                    0,
+                    1,
+                    simpleFileLine("element", 1, 2),
+                    simpleFileLine("after", 1, 4)
+                ),
+                simpleFileLine("outside", 0, 5)
+            ),
+            FileParser.parseFileLines(
+                "unit-tests",
+                Arrays.asList("section:", "\telement", "\t\t\ttoo far", "\tafter", "outside"),
+                0,
+                1,
+                logger
+            )
+        );
+        assertTrue(logger.hasError());
+        assertEquals(
+            Arrays.asList(
+                simpleFileLine("code", 0, 1),
+                new VoidElement("unit-tests", 2, 0),
+                new VoidElement("unit-tests", 3, 0),
+                simpleFileLine("print \"#ff0000\"", 0, 4)
+            ),
+            parseLines(Arrays.asList("code #", "\t# indented comment", "", "print \"#ff0000\""))
+        );
+        assertEquals(
+            Arrays.asList(
+                fileSection(
+                    "outer",
+                    0,
+                    1,
+                    fileSection(
+                        "inner",
+                        1,
+                        2,
+                        simpleFileLine("deepest", 2, 3)
+                    )
+                ),
+                simpleFileLine("back to the top", 0, 4)
+            ),
+            parseLines(Arrays.asList("outer:", "\tinner:", "\t\tdeepest", "back to the top"))
+        );
+    }
+
+    @Test
+    public void indentationLevel() {
+        assertEquals(0, FileUtils.getIndentationLevel("code", false));
+        assertEquals(1, FileUtils.getIndentationLevel("\tcode", false));
+        assertEquals(1, FileUtils.getIndentationLevel("    code", false));
+        assertEquals(2, FileUtils.getIndentationLevel("\t    code", false));
+        assertEquals(2, FileUtils.getIndentationLevel(" \t    code", false));
+        assertEquals(0, FileUtils.getIndentationLevel("   code", false));
+        assertEquals(7, FileUtils.getIndentationLevel(" \t  code", true));
+        // Blank lines have no indentation
+        assertEquals(0, FileUtils.getIndentationLevel("\t\t", false));
+        assertEquals(0, FileUtils.getIndentationLevel("        ", true));
+    }
+
+    @Test
+    public void readLineEndings() throws Exception {
+        var file = Files.createTempFile("lines", ".txt");
+        Files.writeString(file, "windows\r\nold mac \t\rmulti\\\n    line\nescaped \\\\\nlast \\");
+        assertEquals(
+            Arrays.asList(
+                "windows",
+                "old mac",
+                "multiline",
+                "escaped \\\\",
+                "last "
+            ),
+            FileUtils.readAllLines(file)
+        );
+    }
+
     @Test
     public void readLines() throws Exception {
         Path filePath = Paths.get(ClassLoader.getSystemResource("misc/multiline.txt").toURI());
@@ -0,0 +1,69 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.expressions.ExprArithmeticOperators;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.types.TypeManager;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExpressionMemoTest {
+	static {
+		TestRegistration.register();
+	}
+
+	@Test
+	public void testMemoPerLine() {
+		assertNull(ExpressionMemo.current());
+		ExpressionMemo.withMemo(() -> {
+			var outer = ExpressionMemo.current();
+			outer.put("a", "type", ExpressionMemo.SUCCESS);
+			// An outcome that is already known isn't overwritten
+			outer.put("a", "type", ExpressionMemo.FAILURE);
+			assertSame(ExpressionMemo.SUCCESS, outer.get("a", "type"));
+			assertNull(outer.get("a", "other type"));
+			ExpressionMemo.withMemo(() -> {
+				// A nested line gets a memo of its own
+				assertNotSame(outer, ExpressionMemo.current());
+				assertNull(ExpressionMemo.current().get("a", "type"));
+				return null;
+			});
+			assertSame(outer, ExpressionMemo.current());
+			return null;
+		});
+		assertNull(ExpressionMemo.current());
+	}
+
+	@Test
+	public void testRemembersOutcomes() {
+		var type = TypeManager.getPatternType("number").orElseThrow(AssertionError::new);
+		var parserState = new ParserState();
+		var logger = new SkriptLogger();
+		ExpressionMemo.withMemo(() -> {
+			var memo = ExpressionMemo.current();
+			var first = SyntaxParser.parseExpression("1 + 2", type, parserState, logger).orElseThrow(AssertionError::new);
+			var sum = memo.get("1 + 2", type);
+			assertTrue(sum.isSuccess());
+			assertEquals(ExprArithmeticOperators.class, sum.getInfo().getSyntaxClass());
+			// Literals don't come from a registered expression
+			assertSame(ExpressionMemo.SUCCESS, memo.get("1", type));
+
+			// Parsed expressions are never shared, only the syntax that matched
+			var second = SyntaxParser.parseExpression("1 + 2", type, parserState, logger).orElseThrow(AssertionError::new);
+			assertNotSame(first, second);
+			assertEquals(first.getClass(), second.getClass());
+
+			assertFalse(SyntaxParser.parseExpression("not a number at all", type, parserState, logger).isPresent());
+			assertSame(ExpressionMemo.FAILURE, memo.get("not a number at all", type));
+			logger.forgetError();
+			assertFalse(SyntaxParser.parseExpression("not a number at all", type, parserState, logger).isPresent());
+			return null;
+		});
+	}
+}
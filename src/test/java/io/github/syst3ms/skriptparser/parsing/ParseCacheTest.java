@@ -0,0 +1,45 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.registration.SyntaxManager;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParseCacheTest {
+	static {
+		TestRegistration.register();
+	}
+
+	@Test
+	public void testUnusedEntriesAreDropped() throws IOException {
+		var file = Files.createTempDirectory("cache").resolve("parse.cache");
+		var effects = SyntaxManager.getEffects();
+		var effect = effects.get(0);
+		try {
+			ParseCache.load(file);
+			ParseCache.put(ParseCache.EFFECT, "kept", effect);
+			ParseCache.put(ParseCache.EFFECT, "removed", effect);
+			ParseCache.save(file);
+			ParseCache.clear();
+
+			// Only "kept" is parsed again, so "removed" isn't saved anymore
+			assertTrue(ParseCache.load(file));
+			assertEquals(Optional.of(effect), ParseCache.get(ParseCache.EFFECT, "kept", effects));
+			ParseCache.save(file);
+			ParseCache.clear();
+
+			assertTrue(ParseCache.load(file));
+			assertEquals(Optional.of(effect), ParseCache.get(ParseCache.EFFECT, "kept", effects));
+			assertEquals(Optional.empty(), ParseCache.get(ParseCache.EFFECT, "removed", effects));
+			assertEquals(2, Files.readAllLines(file).size());
+		} finally {
+			ParseCache.clear();
+		}
+	}
+}
@@ -7,6 +7,7 @@ import io.github.syst3ms.skriptparser.pattern.ChoiceGroup;
 import io.github.syst3ms.skriptparser.pattern.CompoundElement;
 import io.github.syst3ms.skriptparser.pattern.ExpressionElement;
 import io.github.syst3ms.skriptparser.pattern.OptionalGroup;
+import io.github.syst3ms.skriptparser.pattern.PatternElement;
 import io.github.syst3ms.skriptparser.pattern.RegexGroup;
 import io.github.syst3ms.skriptparser.pattern.TextElement;
 import io.github.syst3ms.skriptparser.types.TypeManager;
@@ -14,10 +15,12 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
 import static io.github.syst3ms.skriptparser.pattern.PatternParser.parsePattern;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
@@ -188,4 +191,39 @@ public class PatternParserTest {
         assertOptionalEmpty(parsePattern("%unfinished type", logger));
     }
 
+    @Test
+    public void testPossibleInputsAfter() {
+        SkriptLogger logger = new SkriptLogger();
+        String[] patterns = {
+                "%number%",
+                "print %string%",
+                "%number% [to] the power of %number%",
+                "(send|tell) %string% to %string% [and log it]",
+                "%objects% (is|are) [not] ([a] part of|in) %objects%",
+                "<.+> matches %string%"
+        };
+        for (var pattern : patterns) {
+            var element = parsePattern(pattern, logger).orElseThrow(AssertionError::new);
+            List<PatternElement> flattened = PatternElement.flatten(element);
+            assertEquals(flattened.size(), PatternElement.flattenedSize(element));
+            // The precomputed inputs must be the ones matching used to compute every time
+            for (var i = 0; i < flattened.size() - 1; i++) {
+                assertEquals(
+                        pattern + " at " + i,
+                        PatternElement.getPossibleInputs(flattened.subList(i + 1, flattened.size())),
+                        PatternElement.getPossibleInputsAfter(element, i)
+                );
+            }
+            assertEquals(PatternElement.END_OF_LINE, PatternElement.getPossibleInputsAfter(element, flattened.size() - 1));
+        }
+    }
+
+    @Test
+    public void testKeywordsIgnoreCase() {
+        SkriptLogger logger = new SkriptLogger();
+        var parserState = new ParserState();
+        assertTrue(SyntaxParser.parseEffect("PRINT \"hello\"", parserState, logger).isPresent());
+        assertTrue(SyntaxParser.parseBooleanExpression("1 Is Greater Than 0", SyntaxParser.MAYBE_CONDITIONAL, parserState, logger).isPresent());
+    }
+
 }
\ No newline at end of file
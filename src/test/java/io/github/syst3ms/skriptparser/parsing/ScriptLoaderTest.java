@@ -0,0 +1,93 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.registration.EventBus;
+import io.github.syst3ms.skriptparser.syntax.TestContext.SubTestContext;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ScriptLoaderTest {
+	static {
+		TestRegistration.register();
+	}
+
+	@Test
+	public void testLoadDirectory() throws IOException {
+		var directory = Files.createTempDirectory("scripts");
+		var loaded = List.of(
+				write(directory.resolve("a.txt")),
+				write(directory.resolve("b.sk")),
+				write(directory.resolve("sub/c.txt"))
+		);
+		write(directory.resolve("-disabled.txt"));
+		write(directory.resolve(".hidden.txt"));
+		write(directory.resolve(".git/d.txt"));
+		write(directory.resolve("notes.md"));
+
+		var logs = ScriptLoader.loadDirectory(directory, false);
+		assertEquals(loaded, new ArrayList<>(logs.keySet()));
+		// Each script is parsed with its own logger
+		for (var path : loaded)
+			assertEquals(1, logs.get(path).size());
+	}
+
+	@Test
+	public void testLoadScripts() throws IOException {
+		var directory = Files.createTempDirectory("scripts");
+		List<Path> scripts = new ArrayList<>();
+		for (var i = 20; i > 0; i--)
+			scripts.add(write(directory.resolve("script" + i + ".txt")));
+
+		var logs = ScriptLoader.loadScripts(scripts, false);
+		// The logs keep the order of the scripts, no matter which one was parsed first
+		assertEquals(scripts, new ArrayList<>(logs.keySet()));
+		for (var path : scripts)
+			assertFalse(logs.get(path).isEmpty());
+	}
+
+	@Test
+	public void testReloadScript() throws IOException {
+		var script = Files.createTempDirectory("scripts").resolve("reloaded.txt");
+		Files.writeString(script, "test:\n\tset {_a} to 1\ntest:\n\tset {_b} to 1\n\tno such effect\n");
+		assertEquals(1, ScriptLoader.reloadScript(script, false).size());
+		var first = ScriptLoader.getTriggerMap().get("reloaded");
+		assertEquals(2, first.size());
+		var changed = first.get(0);
+		var kept = first.get(1);
+
+		// The second trigger only moved and got a comment, so it isn't parsed again and its error isn't logged again
+		Files.writeString(script, "test:\n\tset {_b} to 1\n\n\tno such effect # Comment\ntest:\n\tset {_a} to 2\n");
+		assertEquals(List.of(), ScriptLoader.reloadScript(script, false));
+		var second = ScriptLoader.getTriggerMap().get("reloaded");
+		assertEquals(2, second.size());
+		assertSame(kept, second.get(0));
+		assertNotSame(changed, second.get(1));
+		var handling = EventBus.getTriggers(SubTestContext.class);
+		assertTrue(handling.containsAll(second));
+		assertFalse(handling.contains(changed));
+
+		Files.writeString(script, "");
+		assertEquals(List.of(), ScriptLoader.reloadScript(script, false));
+		assertNull(ScriptLoader.getTriggerMap().get("reloaded"));
+		handling = EventBus.getTriggers(SubTestContext.class);
+		assertFalse(handling.contains(kept));
+		assertFalse(handling.contains(second.get(1)));
+	}
+
+	private static Path write(Path path) throws IOException {
+		Files.createDirectories(path.getParent());
+		return Files.writeString(path, "no such event:\n\tset {x} to 1\n");
+	}
+}
@@ -0,0 +1,77 @@
+package io.github.syst3ms.skriptparser.parsing;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.types.PatternType;
+import io.github.syst3ms.skriptparser.types.TypeManager;
+import io.github.syst3ms.skriptparser.variables.Variables;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+import static io.github.syst3ms.skriptparser.lang.TriggerContext.DUMMY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class SingleValueTest {
+	static {
+		TestRegistration.register();
+	}
+
+	private static Expression<?> parse(String s, String type) {
+		PatternType<?> patternType = TypeManager.getPatternType(type).orElseThrow(AssertionError::new);
+		return SyntaxParser.parseExpression(s, patternType, new ParserState(), new SkriptLogger())
+				.orElseThrow(() -> new AssertionError("Couldn't parse " + s));
+	}
+
+	/**
+	 * Checks that the single value of an expression is the same, however it is read
+	 */
+	private static void assertSingle(Object expected, String s, String type) {
+		var expression = parse(s, type);
+		var values = expression.getValues(DUMMY);
+		assertEquals(s, expected, expression.getSingleOrNull(DUMMY));
+		assertEquals(s, Optional.ofNullable(expected), expression.getSingle(DUMMY));
+		assertEquals(s, expected, values.length == 0 ? null : values[0]);
+		assertEquals(s, expected == null ? 0 : 1, values.length);
+	}
+
+	@Test
+	public void testSingleValues() {
+		Variables.setVariable("number", 5L, DUMMY, false);
+		Variables.setVariable("text", "hello", DUMMY, false);
+		try {
+			// Number literals are BigIntegers, while arithmetic returns a Long when possible
+			assertSingle(BigInteger.valueOf(3), "3", "number");
+			assertSingle("text", "\"text\"", "string");
+			assertSingle("hello world", "\"%{text}% world\"", "string");
+			assertSingle(5L, "{number}", "number");
+			assertSingle(null, "{unset}", "number");
+			// A variable holding a value of the wrong type has no value
+			assertSingle(null, "{text}", "number");
+			assertSingle(7L, "{number} + 2", "number");
+			assertSingle(null, "{unset} + 2", "number");
+			assertSingle(25L, "{number} * ({number} - 3) + 15", "number");
+			assertSingle(false, "true and false", "boolean");
+			assertSingle(true, "{number} is 5", "boolean");
+		} finally {
+			Variables.clearVariables();
+		}
+	}
+
+	@Test
+	public void testMultipleValues() {
+		Variables.setVariable("list::1", 1L, DUMMY, false);
+		Variables.setVariable("list::2", 2L, DUMMY, false);
+		try {
+			parse("{list::*}", "numbers").getSingleOrNull(DUMMY);
+			fail("A list of two values doesn't have a single value");
+		} catch (SkriptRuntimeException expected) {
+			// Expected
+		} finally {
+			Variables.clearVariables();
+		}
+	}
+}
@@ -2,12 +2,14 @@ package io.github.syst3ms.skriptparser.parsing;
 
 import io.github.syst3ms.skriptparser.TestRegistration;
 import io.github.syst3ms.skriptparser.lang.Effect;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
 import io.github.syst3ms.skriptparser.lang.Expression;
 import io.github.syst3ms.skriptparser.lang.SimpleLiteral;
 import io.github.syst3ms.skriptparser.lang.Statement;
 import io.github.syst3ms.skriptparser.log.SkriptLogger;
 import io.github.syst3ms.skriptparser.types.PatternType;
 import io.github.syst3ms.skriptparser.types.TypeManager;
+import io.github.syst3ms.skriptparser.variables.Variables;
 import org.junit.Test;
 
 import java.math.BigDecimal;
@@ -16,6 +18,7 @@ import java.util.Optional;
 
 import static io.github.syst3ms.skriptparser.lang.TriggerContext.DUMMY;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
@@ -73,4 +76,18 @@ public class VariablesTest {
 				SyntaxParser.parseExpression("{number}", numberType, parserState, logger)
 		);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testLocalVariablesOutsideOfTriggers() {
+		// Outside of any execution, there is nowhere to keep local variables
+		Variables.setVariable("local", "test", DUMMY, true);
+		assertEquals(Optional.empty(), Variables.getVariable("local", DUMMY, true));
+		assertEquals(Optional.of("test"), ExecutionFrame.run(() -> {
+			Variables.setVariable("local", "test", DUMMY, true);
+			return Variables.getVariable("local", DUMMY, true);
+		}));
+		// They are gone once the execution that set them is over, even on the same thread
+		assertEquals(Optional.empty(), ExecutionFrame.run(() -> Variables.getVariable("local", DUMMY, true)));
+		assertEquals(Optional.empty(), Variables.getVariable("local", DUMMY, true));
+	}
+}
@@ -0,0 +1,227 @@
+package io.github.syst3ms.skriptparser.registration;
+
+import io.github.syst3ms.skriptparser.lang.Effect;
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.SkriptEvent;
+import io.github.syst3ms.skriptparser.lang.Trigger;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.parsing.ParseContext;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusTest {
+    private final List<String> ran = new CopyOnWriteArrayList<>();
+    private final List<Trigger> registered = new ArrayList<>();
+
+    @Test
+    public void testFire() {
+        try {
+            var base = register("base", BaseContext.class);
+            var sub = register("sub", SubContext.class);
+            var other = register("other", OtherContext.class);
+            var both = register("both", SubContext.class, OtherContext.class);
+
+            // Subclasses of a handled context are handled too
+            assertEquals(List.of(base, sub, both), EventBus.getTriggers(SubContext.class));
+            assertEquals(List.of(base), EventBus.getTriggers(BaseContext.class));
+            assertEquals(List.of(other, both), EventBus.getTriggers(OtherContext.class));
+
+            assertEquals(3, EventBus.fire(new SubContext()));
+            assertEquals(List.of("base", "sub", "both"), ran);
+            ran.clear();
+            assertEquals(1, EventBus.fire(new BaseContext()));
+            assertEquals(List.of("base"), ran);
+        } finally {
+            unregisterAll();
+        }
+    }
+
+    @Test
+    public void testFireAll() {
+        try {
+            register("base", BaseContext.class);
+            register("other", OtherContext.class);
+
+            var count = EventBus.fireAll(List.of(new BaseContext(), new SubContext(), new OtherContext(), new OtherContext(), new BaseContext()));
+            assertEquals(5, count);
+            assertEquals(List.of("base", "base", "other", "other", "base"), ran);
+        } finally {
+            unregisterAll();
+        }
+    }
+
+    @Test
+    public void testCheck() {
+        try {
+            register("checked", BaseContext.class);
+            var rejecting = new Trigger(new TestEvent("rejecting", false));
+            rejecting.setItems(List.of(new Record("rejecting")));
+            EventBus.register(rejecting, Set.of(BaseContext.class));
+            registered.add(rejecting);
+
+            // The trigger handles the context, but its event doesn't accept it
+            assertEquals(2, EventBus.fire(new BaseContext()));
+            assertEquals(List.of("checked"), ran);
+        } finally {
+            unregisterAll();
+        }
+    }
+
+    @Test
+    public void testRegisterAndReplace() {
+        try {
+            var first = register("first", BaseContext.class);
+            assertEquals(List.of(first), EventBus.getTriggers(BaseContext.class));
+
+            // Resolved triggers are forgotten whenever the triggers change
+            var second = register("second", BaseContext.class);
+            assertEquals(List.of(first, second), EventBus.getTriggers(BaseContext.class));
+
+            var replacing = trigger("replacing");
+            EventBus.replace(List.of(first), Map.of(replacing, Set.of(BaseContext.class)));
+            registered.add(replacing);
+            assertEquals(List.of(second, replacing), EventBus.getTriggers(BaseContext.class));
+
+            assertTrue(EventBus.unregister(second));
+            assertFalse(EventBus.unregister(second));
+            assertEquals(List.of(replacing), EventBus.getTriggers(BaseContext.class));
+            EventBus.fire(new BaseContext());
+            assertEquals(List.of("replacing"), ran);
+        } finally {
+            unregisterAll();
+        }
+    }
+
+    @Test
+    public void testFireParallel() throws InterruptedException {
+        var count = 4;
+        var started = new CountDownLatch(count);
+        var finished = new CountDownLatch(count);
+        try {
+            for (var i = 0; i < count; i++) {
+                var trigger = new Trigger(new TestEvent("parallel", true));
+                trigger.setItems(List.of(new Record("parallel" + i, () -> {
+                    started.countDown();
+                    try {
+                        // Only returns if all triggers run at the same time
+                        if (started.await(5, TimeUnit.SECONDS))
+                            finished.countDown();
+                    } catch (InterruptedException ignored) {
+                        Thread.currentThread().interrupt();
+                    }
+                })));
+                EventBus.register(trigger, Set.of(OtherContext.class));
+                registered.add(trigger);
+            }
+
+            var tasks = EventBus.fireParallel(new OtherContext());
+            assertEquals(count, tasks.size());
+            assertTrue(finished.await(10, TimeUnit.SECONDS));
+            assertEquals(count, ran.size());
+        } finally {
+            unregisterAll();
+        }
+    }
+
+    @SafeVarargs
+    private Trigger register(String name, Class<? extends TriggerContext>... contexts) {
+        var trigger = trigger(name);
+        EventBus.register(trigger, Set.of(contexts));
+        registered.add(trigger);
+        return trigger;
+    }
+
+    private Trigger trigger(String name) {
+        var trigger = new Trigger(new TestEvent(name, true));
+        trigger.setItems(List.of(new Record(name)));
+        return trigger;
+    }
+
+    private void unregisterAll() {
+        registered.forEach(EventBus::unregister);
+        registered.clear();
+        ran.clear();
+    }
+
+    private static class BaseContext implements TriggerContext {
+        @Override
+        public String getName() {
+            return "base";
+        }
+    }
+
+    private static class SubContext extends BaseContext { /* Nothing */ }
+
+    private static class OtherContext implements TriggerContext {
+        @Override
+        public String getName() {
+            return "other";
+        }
+    }
+
+    private static class TestEvent extends SkriptEvent {
+        private final String name;
+        private final boolean accepts;
+
+        TestEvent(String name, boolean accepts) {
+            this.name = name;
+            this.accepts = accepts;
+        }
+
+        @Override
+        public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+            return true;
+        }
+
+        @Override
+        public boolean check(TriggerContext ctx) {
+            return accepts;
+        }
+
+        @Override
+        public String toString(TriggerContext ctx, boolean debug) {
+            return name;
+        }
+    }
+
+    private class Record extends Effect {
+        private final String name;
+        private final Runnable action;
+
+        Record(String name) {
+            this(name, () -> {});
+        }
+
+        Record(String name, Runnable action) {
+            this.name = name;
+            this.action = action;
+        }
+
+        @Override
+        public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+            return true;
+        }
+
+        @Override
+        protected void execute(TriggerContext ctx) {
+            ran.add(name);
+            action.run();
+        }
+
+        @Override
+        public String toString(TriggerContext ctx, boolean debug) {
+            return "record " + name;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.syst3ms.skriptparser.registration;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.pattern.PatternParser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SyntaxIndexTest {
+    static {
+        TestRegistration.register();
+    }
+
+    private static final List<SyntaxInfo<Object>> INFOS = new ArrayList<>();
+
+    static {
+        var logger = new SkriptLogger();
+        for (var pattern : List.of("print %string%", "(send|tell) %string%", "%number% + %number%", "[all] player[s]", "(loud|) print %string%")) {
+            INFOS.add(new SyntaxInfo<>(null, Object.class, 0, List.of(PatternParser.parsePattern(pattern, logger).orElseThrow())));
+        }
+    }
+
+    private static List<SyntaxInfo<Object>> infos(int... indices) {
+        List<SyntaxInfo<Object>> infos = new ArrayList<>();
+        for (var i : indices)
+            infos.add(INFOS.get(i));
+        return infos;
+    }
+
+    @Test
+    public void testCandidates() {
+        var index = new SyntaxIndex<>(INFOS);
+        assertEquals(INFOS, index.getAll());
+        // Patterns starting with an expression are always candidates
+        assertEquals(infos(2), index.getCandidates("foo"));
+        assertEquals(infos(0, 2, 4), index.getCandidates("print \"hello\""));
+        assertEquals(infos(1, 2), index.getCandidates("tell \"hello\""));
+        assertEquals(infos(1, 2), index.getCandidates("  send \"hello\""));
+        // Case is ignored, like when matching text
+        assertEquals(infos(0, 2, 4), index.getCandidates("PRINT \"hello\""));
+        // Optional words and empty choices don't hide the words after them
+        assertEquals(infos(2, 3), index.getCandidates("players"));
+        assertEquals(infos(2, 3), index.getCandidates("all players"));
+        assertEquals(infos(2, 4), index.getCandidates("loud print \"hello\""));
+    }
+
+    @Test
+    public void testCandidatesAreCopies() {
+        var index = new SyntaxIndex<>(INFOS);
+        index.getCandidates("print \"hello\"").clear();
+        assertEquals(infos(0, 2, 4), index.getCandidates("print \"hello\""));
+    }
+}
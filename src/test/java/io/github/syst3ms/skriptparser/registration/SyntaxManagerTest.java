@@ -0,0 +1,98 @@
+package io.github.syst3ms.skriptparser.registration;
+
+import io.github.syst3ms.skriptparser.Parser;
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.parsing.ParseContext;
+import io.github.syst3ms.skriptparser.parsing.SkriptParserException;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SyntaxManagerTest {
+    static {
+        TestRegistration.register();
+    }
+
+    @Test
+    public void testAllExpressions() {
+        var all = SyntaxManager.getAllExpressions();
+        // The list is only rebuilt when syntaxes are registered
+        assertSame(all, SyntaxManager.getAllExpressions());
+        for (var i = 1; i < all.size(); i++)
+            assertTrue(SyntaxManager.INFO_COMPARATOR.compare(all.get(i - 1), all.get(i)) <= 0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAllExpressionsUnmodifiable() {
+        SyntaxManager.getAllExpressions().clear();
+    }
+
+    @Test
+    public void testExpressionExact() throws ReflectiveOperationException {
+        var tested = 0;
+        for (var info : SyntaxManager.getAllExpressions()) {
+            Object instance;
+            try {
+                instance = info.getSyntaxClass().getDeclaredConstructor().newInstance();
+            } catch (NoSuchMethodException | InvocationTargetException e) {
+                continue;
+            }
+            var expression = (Expression<?>) instance;
+            // The first info of the class is found, as if the sorted list was searched
+            var expected = SyntaxManager.getAllExpressions().stream()
+                    .filter(i -> i.getSyntaxClass() == expression.getClass())
+                    .findFirst()
+                    .orElseThrow();
+            assertSame(expected, SyntaxManager.getExpressionExact(expression).orElseThrow());
+            tested++;
+        }
+        assertTrue(tested > 0);
+    }
+
+    @Test
+    public void testRegister() {
+        var expression = new ExprUnregistered();
+        assertFalse(SyntaxManager.getExpressionExact(expression).isPresent());
+        try {
+            expression.isSingle();
+            fail("Unregistered expressions don't have a default number of values");
+        } catch (SkriptParserException ignored) { /* Expected */ }
+
+        var all = SyntaxManager.getAllExpressions();
+        var registration = new SkriptRegistration(Parser.getMainRegistration().getRegisterer());
+        registration.addExpression(ExprUnregistered.class, String.class, false, "syntax manager test values");
+        SyntaxManager.register(registration);
+
+        assertNotSame(all, SyntaxManager.getAllExpressions());
+        assertEquals(all.size() + 1, SyntaxManager.getAllExpressions().size());
+        assertSame(ExprUnregistered.class, SyntaxManager.getExpressionExact(expression).orElseThrow().getSyntaxClass());
+        assertFalse(expression.isSingle());
+        assertSame(String.class, expression.getReturnType());
+    }
+
+    public static class ExprUnregistered implements Expression<String> {
+        @Override
+        public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+            return true;
+        }
+
+        @Override
+        public String[] getValues(TriggerContext ctx) {
+            return new String[0];
+        }
+
+        @Override
+        public String toString(TriggerContext ctx, boolean debug) {
+            return "syntax manager test values";
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.syst3ms.skriptparser.syntax;
+
+import io.github.syst3ms.skriptparser.Parser;
+import io.github.syst3ms.skriptparser.lang.CodeSection;
+import io.github.syst3ms.skriptparser.lang.ExecutionFrame;
+import io.github.syst3ms.skriptparser.lang.Expression;
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.lang.TriggerContext;
+import io.github.syst3ms.skriptparser.parsing.ParseContext;
+
+import java.util.Optional;
+
+/**
+ * Runs the code inside of this section right away, as if it was a separate trigger run from the current one,
+ * for example when an effect fires an event.
+ * Use this to make sure separate executions don't share their state.
+ * Cannot be used outside of tests.
+ *
+ * @name Nested
+ * @type SECTION
+ * @pattern nested [trigger]
+ * @since ALPHA
+ */
+public class SecNested extends CodeSection {
+    static {
+        Parser.getMainRegistration().addSection(
+            SecNested.class,
+            "nested [trigger]"
+        );
+    }
+
+    @Override
+    public boolean init(Expression<?>[] expressions, int matchedPattern, ParseContext parseContext) {
+        return true;
+    }
+
+    @Override
+    public Optional<? extends Statement> walk(TriggerContext ctx) {
+        ExecutionFrame.run(() -> {
+            var item = getFirst();
+            while (!item.equals(getNext()))
+                item = item.flatMap(val -> val.walk(ctx));
+            return null;
+        });
+        return getNext();
+    }
+
+    @Override
+    public String toString(TriggerContext ctx, boolean debug) {
+        return "nested";
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.syst3ms.skriptparser.types.conversions;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConverterGraphTest {
+    // Each value remembers the types it was converted through
+    private static class Value {
+        final String trace;
+
+        Value(String trace) {
+            this.trace = trace;
+        }
+    }
+
+    private static class A extends Value {
+        A(String trace) { super(trace); }
+    }
+
+    private static class B extends Value {
+        B(String trace) { super(trace); }
+    }
+
+    private static class C extends Value {
+        C(String trace) { super(trace); }
+    }
+
+    private static class D extends Value {
+        D(String trace) { super(trace); }
+    }
+
+    private static class E extends Value {
+        E(String trace) { super(trace); }
+    }
+
+    private static <F extends Value, T extends Value> ConverterInfo<F, T> converter(Class<F> from, Class<T> to, Function<String, T> constructor, int flags) {
+        return new ConverterInfo<>(from, to, f -> Optional.of(constructor.apply(f.trace + to.getSimpleName())), flags);
+    }
+
+    /**
+     * @return the trace of the value each chain produces from a new A, or the from and to types of the chain
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> describe(List<ConverterInfo<?, ?>> chains) {
+        List<String> result = new ArrayList<>();
+        for (var chain : chains) {
+            if (chain.getFrom() == A.class) {
+                var converter = (Function<Value, Optional<?>>) chain.getConverter();
+                var converted = (Value) converter.apply(new A("A")).orElseThrow(AssertionError::new);
+                result.add(converted.trace);
+            } else {
+                result.add(chain.getFrom().getSimpleName() + chain.getTo().getSimpleName());
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testShortestChains() {
+        List<ConverterInfo<?, ?>> converters = List.of(
+                converter(A.class, B.class, B::new, Converters.ALL_CHAINING),
+                converter(B.class, C.class, C::new, Converters.ALL_CHAINING),
+                converter(C.class, D.class, D::new, Converters.ALL_CHAINING),
+                converter(A.class, E.class, E::new, Converters.ALL_CHAINING),
+                converter(E.class, D.class, D::new, Converters.ALL_CHAINING)
+        );
+        // Shortest first, and A to D goes through E rather than through B and C
+        assertEquals(List.of("ABC", "AED", "BD"), describe(new ConverterGraph(converters).getMissingChains()));
+    }
+
+    @Test
+    public void testChainingFlags() {
+        // A converter that may only be the first part of a chain
+        List<ConverterInfo<?, ?>> converters = List.of(
+                converter(A.class, B.class, B::new, Converters.ALL_CHAINING),
+                converter(B.class, C.class, C::new, Converters.NO_LEFT_CHAINING),
+                converter(C.class, D.class, D::new, Converters.ALL_CHAINING)
+        );
+        var chains = new ConverterGraph(converters).getMissingChains();
+        assertEquals(List.of("BD"), describe(chains));
+        // A chain keeps the flags of its parts
+        assertEquals(Converters.NO_LEFT_CHAINING, chains.get(0).getFlags());
+
+        // A converter that may only be the second part of a chain
+        converters = List.of(
+                converter(A.class, B.class, B::new, Converters.ALL_CHAINING),
+                converter(B.class, C.class, C::new, Converters.NO_RIGHT_CHAINING),
+                converter(C.class, D.class, D::new, Converters.ALL_CHAINING)
+        );
+        assertEquals(List.of("ABC"), describe(new ConverterGraph(converters).getMissingChains()));
+
+        converters = List.of(
+                converter(A.class, B.class, B::new, Converters.ALL_CHAINING),
+                converter(B.class, C.class, C::new, Converters.NO_CHAINING),
+                converter(C.class, D.class, D::new, Converters.ALL_CHAINING)
+        );
+        assertEquals(List.of(), describe(new ConverterGraph(converters).getMissingChains()));
+    }
+
+    @Test
+    public void testCoveredConversions() {
+        // A converter to a supertype of B already handles converting A to B
+        List<ConverterInfo<?, ?>> converters = List.of(
+                converter(A.class, C.class, C::new, Converters.ALL_CHAINING),
+                converter(C.class, D.class, D::new, Converters.ALL_CHAINING),
+                converter(A.class, Value.class, Value::new, Converters.ALL_CHAINING),
+                converter(Value.class, D.class, D::new, Converters.ALL_CHAINING)
+        );
+        assertEquals(List.of(), describe(new ConverterGraph(converters).getMissingChains()));
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.syst3ms.skriptparser.util;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.types.conversions.Converters;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ClassPairCacheTest {
+    static {
+        TestRegistration.register();
+    }
+
+    private static class Source {}
+
+    private static class Target {}
+
+    @Test
+    public void testCachesValuesAndMisses() {
+        var loads = new AtomicInteger();
+        var cache = new ClassPairCache<String>((first, second) -> {
+            loads.incrementAndGet();
+            return first == second ? Optional.empty() : Optional.of(first.getSimpleName() + second.getSimpleName());
+        });
+        assertEquals(Optional.of("StringInteger"), cache.get(String.class, Integer.class));
+        assertEquals(Optional.of("IntegerString"), cache.get(Integer.class, String.class));
+        assertEquals(Optional.empty(), cache.get(String.class, String.class));
+        assertEquals(3, loads.get());
+        // Neither values nor misses are computed twice
+        assertEquals(Optional.of("StringInteger"), cache.get(String.class, Integer.class));
+        assertEquals(Optional.empty(), cache.get(String.class, String.class));
+        assertEquals(3, loads.get());
+
+        cache.clear();
+        assertEquals(Optional.empty(), cache.get(String.class, String.class));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testRegisteringClearsMisses() {
+        assertFalse(Converters.getConverter(Source.class, Target.class).isPresent());
+        // The miss was cached, and must be forgotten once a converter exists
+        Converters.registerConverter(Source.class, Target.class, s -> Optional.of(new Target()));
+        assertTrue(Converters.getConverter(Source.class, Target.class).isPresent());
+        assertTrue(Converters.convert(new Source(), Target.class).isPresent());
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.syst3ms.skriptparser.util;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PatternCacheTest {
+    // The size of the cache
+    private static final int CAPACITY = 256;
+
+    @Test
+    public void testHitsAndMisses() {
+        PatternCache.clear();
+        var pattern = PatternCache.get("a+");
+        assertEquals(0, PatternCache.getHits());
+        assertEquals(1, PatternCache.getMisses());
+
+        assertSame(pattern, PatternCache.get("a+"));
+        assertEquals(1, PatternCache.getHits());
+
+        // Flags are part of the key
+        var insensitive = PatternCache.get("a+", Pattern.CASE_INSENSITIVE);
+        assertNotSame(pattern, insensitive);
+        assertTrue(insensitive.matcher("AA").matches());
+        assertFalse(PatternCache.literal("a+").matcher("aa").matches());
+        assertTrue(PatternCache.literal("a+").matcher("a+").matches());
+        assertEquals(2, PatternCache.getHits());
+        assertEquals(3, PatternCache.getMisses());
+
+        PatternCache.clear();
+        assertEquals(0, PatternCache.getHits());
+        assertEquals(0, PatternCache.getMisses());
+        assertNotSame(pattern, PatternCache.get("a+"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        PatternCache.clear();
+        for (var i = 0; i < CAPACITY; i++)
+            PatternCache.get(String.valueOf(i));
+        assertEquals(CAPACITY, PatternCache.getMisses());
+
+        // "0" is now the most recently used pattern, so "1" is discarded instead
+        PatternCache.get("0");
+        PatternCache.get(String.valueOf(CAPACITY));
+        assertEquals(1, PatternCache.getHits());
+        PatternCache.get("0");
+        assertEquals(2, PatternCache.getHits());
+        PatternCache.get("1");
+        assertEquals(2, PatternCache.getHits());
+        assertEquals(CAPACITY + 2, PatternCache.getMisses());
+    }
+
+    @Test
+    public void testInvalidPatterns() {
+        PatternCache.clear();
+        assertFalse(PatternCache.tryGet("(").isPresent());
+        assertTrue(PatternCache.tryGet("()").isPresent());
+        try {
+            PatternCache.get("[");
+            fail("Invalid patterns can't be compiled");
+        } catch (PatternSyntaxException ignored) { /* Expected */ }
+        // Invalid patterns aren't cached
+        assertFalse(PatternCache.tryGet("(").isPresent());
+        assertEquals(0, PatternCache.getHits());
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.syst3ms.skriptparser.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class RecentElementListTest {
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        List<T> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+
+    private static void acknowledge(RecentElementList<String> list, String element, int times) {
+        for (var i = 0; i < times; i++)
+            list.acknowledge(element);
+    }
+
+    @Test
+    public void testFrequencyOrder() {
+        var list = new RecentElementList<String>(10, 1);
+        acknowledge(list, "a", 3);
+        list.acknowledge("b");
+        assertEquals(List.of("a", "b"), toList(list));
+        acknowledge(list, "b", 3);
+        assertEquals(List.of("b", "a"), toList(list));
+    }
+
+    @Test
+    public void testDecay() {
+        // Each acknowledgement weighs twice as much as the previous one
+        var list = new RecentElementList<String>(10, 0.5);
+        acknowledge(list, "a", 3);
+        acknowledge(list, "b", 2);
+        assertEquals(List.of("b", "a"), toList(list));
+
+        // Without decay, the older but more frequent element stays first
+        list = new RecentElementList<>(10, 1);
+        acknowledge(list, "a", 3);
+        acknowledge(list, "b", 2);
+        assertEquals(List.of("a", "b"), toList(list));
+    }
+
+    @Test
+    public void testRescaling() {
+        // Enough acknowledgements for the weight of new ones to overflow if scores were never scaled back down
+        var list = new RecentElementList<String>(10, 0.5);
+        acknowledge(list, "a", 2000);
+        acknowledge(list, "b", 2);
+        assertEquals(List.of("b", "a"), toList(list));
+    }
+
+    @Test
+    public void testEviction() {
+        var list = new RecentElementList<String>(2, 1);
+        acknowledge(list, "a", 2);
+        list.acknowledge("b");
+        // The least used element makes room for the new one
+        list.acknowledge("c");
+        assertEquals(List.of("a", "c"), toList(list));
+        acknowledge(list, "c", 2);
+        list.acknowledge("b");
+        assertEquals(List.of("c", "b"), toList(list));
+    }
+
+    @Test
+    public void testMergeWith() {
+        var list = new RecentElementList<String>();
+        acknowledge(list, "b", 2);
+        list.acknowledge("a");
+        list.acknowledge("unknown");
+        var other = List.of("a", "c", "b", "d");
+        assertEquals(List.of("b", "a", "c", "d"), toList(list.mergeWith(other)));
+        assertEquals(List.of("a", "c", "b", "d"), other);
+        assertEquals(other, toList(new RecentElementList<String>().mergeWith(other)));
+    }
+
+    @Test
+    public void testAcknowledgeWhileMerging() {
+        var list = new RecentElementList<String>();
+        list.acknowledge("a");
+        List<String> merged = new ArrayList<>();
+        for (var element : list.mergeWith(List.of("a", "b", "c"))) {
+            merged.add(element);
+            // Nested parsing acknowledges elements while iterating, which the ongoing iteration doesn't see
+            acknowledge(list, "c", 3);
+        }
+        assertEquals(List.of("a", "b", "c"), merged);
+        assertEquals(List.of("c", "a"), toList(list));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDecay() {
+        new RecentElementList<String>(10, 0);
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.syst3ms.skriptparser.util;
+
+import io.github.syst3ms.skriptparser.TestRegistration;
+import io.github.syst3ms.skriptparser.lang.Statement;
+import io.github.syst3ms.skriptparser.log.SkriptLogger;
+import io.github.syst3ms.skriptparser.parsing.ParserState;
+import io.github.syst3ms.skriptparser.parsing.SyntaxParser;
+import io.github.syst3ms.skriptparser.variables.Variables;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.syst3ms.skriptparser.lang.TriggerContext.DUMMY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ThreadUtilsTest {
+    static {
+        TestRegistration.register();
+    }
+
+    @Test
+    public void testRunAfter() throws InterruptedException {
+        var ran = new CountDownLatch(1);
+        var start = System.nanoTime();
+        ThreadUtils.runAfter(ran::countDown, Duration.ofMillis(100));
+        // The timer thread must keep the JVM alive until the code ran
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(t -> t.getName().equals("Skript timer") && !t.isDaemon()));
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void testRunPeriodically() throws InterruptedException {
+        var runs = new AtomicInteger();
+        var ranThrice = new CountDownLatch(3);
+        var task = ThreadUtils.runPeriodically(() -> {
+            runs.incrementAndGet();
+            ranThrice.countDown();
+        }, Duration.ofMillis(20));
+        assertTrue(ranThrice.await(5, TimeUnit.SECONDS));
+        assertTrue(task.cancel());
+        var count = runs.get();
+        Thread.sleep(100);
+        // At most one run may have been under way when the task was cancelled
+        assertTrue(runs.get() <= count + 1);
+        assertFalse(task.isDone());
+        assertTrue(task.isCancelled());
+    }
+
+    @Test
+    public void testBlockingTasks() throws InterruptedException {
+        // More tasks than processors, all blocking until the last one runs
+        var count = Runtime.getRuntime().availableProcessors() * 2 + 2;
+        var started = new CountDownLatch(count);
+        var finished = new CountDownLatch(count);
+        for (var i = 0; i < count; i++) {
+            ThreadUtils.runAsync(() -> {
+                started.countDown();
+                try {
+                    if (started.await(5, TimeUnit.SECONDS))
+                        finished.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBoundedWorkers() throws InterruptedException {
+        // More tasks than workers, so that the last ones wait in the queue
+        var count = ThreadUtils.MAX_WORKERS + 4;
+        var release = new CountDownLatch(1);
+        var finished = new CountDownLatch(count);
+        for (var i = 0; i < count; i++) {
+            ThreadUtils.runAsync(() -> {
+                try {
+                    if (release.await(5, TimeUnit.SECONDS))
+                        finished.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        Thread.sleep(100);
+        assertEquals(count, finished.getCount());
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().startsWith("Skript worker"))
+                .count() <= ThreadUtils.MAX_WORKERS);
+        release.countDown();
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testVirtualThreads() throws InterruptedException {
+        var enabled = ThreadUtils.setVirtualThreads(true);
+        try {
+            assertEquals(Runtime.version().feature() >= 21, enabled);
+            assertEquals(enabled, ThreadUtils.isUsingVirtualThreads());
+            var worker = new AtomicReference<Thread>();
+            var ran = new CountDownLatch(1);
+            ThreadUtils.runAsync(() -> {
+                worker.set(Thread.currentThread());
+                ran.countDown();
+            });
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+            // Without virtual threads, the code still runs on the bounded pool
+            if (!enabled)
+                assertTrue(worker.get().getName().startsWith("Skript worker"));
+        } finally {
+            assertFalse(ThreadUtils.setVirtualThreads(false));
+        }
+        assertFalse(ThreadUtils.isUsingVirtualThreads());
+    }
+
+    @Test
+    public void testWait() throws InterruptedException {
+        var logger = new SkriptLogger();
+        var parserState = new ParserState();
+        var wait = SyntaxParser.parseEffect("wait 50 milliseconds", parserState, logger).orElseThrow(AssertionError::new);
+        var set = SyntaxParser.parseEffect("set {waited} to true", parserState, logger).orElseThrow(AssertionError::new);
+        wait.setNext(set);
+        Statement.runAll(wait, DUMMY);
+        assertEquals(Optional.empty(), Variables.getVariable("waited", DUMMY, false));
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (Variables.getVariable("waited", DUMMY, false).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Optional.of(true), Variables.getVariable("waited", DUMMY, false));
+        Variables.clearVariables();
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.syst3ms.skriptparser.util.math;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NumberMathTest {
+    private static final int COUNT = 100_000;
+
+    @Test
+    public void testOverflow() {
+        assertEquals(3L, NumberMath.add(1L, BigInteger.TWO));
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), NumberMath.add(Long.MAX_VALUE, 1L));
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE), NumberMath.subtract(Long.MIN_VALUE, 1L));
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TWO), NumberMath.multiply(Long.MAX_VALUE, 2L));
+        // Results that fit in a long again are narrowed back
+        assertEquals(Long.MAX_VALUE, NumberMath.subtract(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), 1L));
+    }
+
+    @Test
+    public void testLongArithmeticAllocatesLess() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled())
+            return;
+        // Outside of the range of cached Longs, so that every result is a new object either way
+        var longs = new Long[COUNT];
+        var bigIntegers = new BigInteger[COUNT];
+        for (var i = 0; i < COUNT; i++) {
+            longs[i] = 1000L + i;
+            bigIntegers[i] = BigInteger.valueOf(1000L + i);
+        }
+        var results = new Number[COUNT];
+        long longBytes = 0, bigIntegerBytes = 0;
+        // The first rounds only warm up the code
+        for (var round = 0; round < 5; round++) {
+            var start = threads.getCurrentThreadAllocatedBytes();
+            for (var i = 0; i < COUNT; i++)
+                results[i] = NumberMath.add(longs[i], longs[i]);
+            longBytes = threads.getCurrentThreadAllocatedBytes() - start;
+            start = threads.getCurrentThreadAllocatedBytes();
+            for (var i = 0; i < COUNT; i++)
+                results[i] = bigIntegers[i].add(bigIntegers[i]);
+            bigIntegerBytes = threads.getCurrentThreadAllocatedBytes() - start;
+        }
+        assertTrue("Adding longs allocated " + longBytes + " bytes, and adding BigIntegers " + bigIntegerBytes + " bytes",
+                longBytes * 2 < bigIntegerBytes);
+    }
+}
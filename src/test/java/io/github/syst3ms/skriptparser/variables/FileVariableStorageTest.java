@@ -0,0 +1,106 @@
+package io.github.syst3ms.skriptparser.variables;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class FileVariableStorageTest {
+    // Long enough for nothing to be flushed while a test runs, so that everything is written when closing
+    private static final Duration FLUSH_INTERVAL = Duration.ofHours(1);
+
+    private static class Unregistered implements Serializable {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static Map<String, Object> load(Path folder, List<String> errors) throws IOException {
+        var storage = new FileVariableStorage(folder, FLUSH_INTERVAL, (message, e) -> errors.add(message));
+        Map<String, Object> variables = new HashMap<>();
+        storage.load(variables::put);
+        storage.close();
+        return variables;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        var folder = Files.createTempDirectory("variables");
+        var longString = "abé中".repeat(50_000);
+        var storage = new FileVariableStorage(folder, FLUSH_INTERVAL);
+        storage.load((n, v) -> {});
+        storage.save("string", longString);
+        storage.save("boolean", true);
+        storage.save("long", 5L);
+        storage.save("double", 2.5);
+        storage.save("big integer", BigInteger.TEN.pow(40));
+        storage.save("big decimal", new BigDecimal("-3.14159"));
+        storage.save("list::1", "a");
+        storage.save("list::2", "b");
+        storage.save("list::*", null);
+        storage.save("list::3", "c");
+        storage.save("deleted", "value");
+        storage.save("deleted", null);
+        storage.save("unregistered", new Unregistered());
+        storage.close();
+
+        List<String> errors = new ArrayList<>();
+        var variables = load(folder, errors);
+        assertEquals(longString, variables.get("string"));
+        assertEquals(true, variables.get("boolean"));
+        assertEquals(5L, variables.get("long"));
+        assertEquals(2.5, variables.get("double"));
+        assertEquals(BigInteger.TEN.pow(40), variables.get("big integer"));
+        assertEquals(new BigDecimal("-3.14159"), variables.get("big decimal"));
+        assertFalse(variables.containsKey("list::1"));
+        assertFalse(variables.containsKey("list::2"));
+        assertEquals("c", variables.get("list::3"));
+        assertFalse(variables.containsKey("deleted"));
+        // Only registered types can be deserialized
+        assertFalse(variables.containsKey("unregistered"));
+        assertEquals(List.of("Couldn't load the value of the variable 'unregistered'"), errors);
+        // Loading again reads the compacted snapshot
+        errors.clear();
+        assertEquals(variables, load(folder, errors));
+        assertEquals(List.of(), errors);
+    }
+
+    @Test
+    public void testCorruptedLog() throws IOException {
+        var folder = Files.createTempDirectory("variables");
+        var storage = new FileVariableStorage(folder, FLUSH_INTERVAL);
+        storage.load((n, v) -> {});
+        storage.save("kept", "value");
+        storage.close();
+        // A record whose name has a negative length, followed by one that would be kept if it was read
+        var log = folder.resolve("variables.log");
+        Files.write(log, new byte[] {0, -1, -1, -1, -1, 0, 0, 0, 0, 1, 'x'}, StandardOpenOption.APPEND);
+
+        List<String> errors = new ArrayList<>();
+        var variables = load(folder, errors);
+        assertEquals(Map.of("kept", "value"), variables);
+        assertEquals(List.of("Ignoring the end of the corrupted variable file " + log), errors);
+
+        storage = new FileVariableStorage(folder, FLUSH_INTERVAL);
+        storage.load((n, v) -> {});
+        storage.save("kept", "other value");
+        storage.close();
+        // A record that was only partially written
+        Files.write(log, new byte[] {0, 0x7f, -1, -1, -1, 'a'}, StandardOpenOption.APPEND);
+        errors.clear();
+        assertEquals(Map.of("kept", "other value"), load(folder, errors));
+        // Interrupted writes are expected, so they aren't reported
+        assertEquals(List.of(), errors);
+    }
+}